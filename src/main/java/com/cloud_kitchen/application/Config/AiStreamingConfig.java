@@ -0,0 +1,51 @@
+package com.cloud_kitchen.application.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AiStreamingConfig {
+
+    /**
+     * Threads that relay streamed Gemini responses to SSE clients, so request threads are released
+     * as soon as the stream is opened. Streams beyond the queue capacity are rejected.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor aiStreamExecutor(
+            @Value("${ai.stream.core-pool-size:4}") int corePoolSize,
+            @Value("${ai.stream.max-pool-size:8}") int maxPoolSize,
+            @Value("${ai.stream.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ai-stream-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Threads that run the non-streaming AI endpoints, so a Gemini call waiting out its read timeout
+     * holds one of these instead of a request thread. Calls beyond the queue capacity are rejected
+     * and answered with 503 at once.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor aiCallExecutor(
+            @Value("${ai.call.core-pool-size:4}") int corePoolSize,
+            @Value("${ai.call.max-pool-size:16}") int maxPoolSize,
+            @Value("${ai.call.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ai-call-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
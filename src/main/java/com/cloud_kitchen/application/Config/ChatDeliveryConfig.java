@@ -0,0 +1,32 @@
+package com.cloud_kitchen.application.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ChatDeliveryConfig {
+
+    /**
+     * Threads that write outbound chat frames, so the thread handling an inbound message never
+     * blocks on a recipient's socket. Each session's frames are drained by one task at a time
+     * (see SessionSendLane); when the queue is full a session's frames wait for its next send.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor chatDeliveryExecutor(
+            @Value("${chat.ws.delivery.core-pool-size:4}") int corePoolSize,
+            @Value("${chat.ws.delivery.max-pool-size:16}") int maxPoolSize,
+            @Value("${chat.ws.delivery.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("chat-delivery-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
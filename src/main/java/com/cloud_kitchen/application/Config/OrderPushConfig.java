@@ -0,0 +1,32 @@
+package com.cloud_kitchen.application.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class OrderPushConfig {
+
+    /**
+     * Threads that write order status frames, kept apart from chat delivery so a burst of status
+     * changes never queues behind chat traffic. Each session's send lane runs at most one task here
+     * at a time; a lane rejected by a full queue keeps its frames and retries on its next frame.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor orderPushExecutor(
+            @Value("${orders.ws.delivery.core-pool-size:2}") int corePoolSize,
+            @Value("${orders.ws.delivery.max-pool-size:8}") int maxPoolSize,
+            @Value("${orders.ws.delivery.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("order-push-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,27 @@
+package com.cloud_kitchen.application.Config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class OutboxConfig {
+
+    /**
+     * Single thread that drains the outbox after commits. One pending wake-up is enough since
+     * a drain picks up everything due, so extra wake-ups are discarded.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor outboxDispatchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("outbox-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,28 @@
+package com.cloud_kitchen.application.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Enables {@code @Scheduled} background jobs such as the subscription expiry sweep
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * Threads shared by every {@code @Scheduled} job. Spring's default is a single thread, on which a
+     * slow nightly rebuild or sweep would hold back the frequent jobs such as the read-receipt flush.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduled-");
+        scheduler.initialize();
+        return scheduler;
+    }
+}
@@ -1,6 +1,7 @@
 package com.cloud_kitchen.application.Config;
 
 import com.cloud_kitchen.application.Security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -57,12 +58,12 @@ public class WebSocketAuthInterceptor implements HandshakeInterceptor {
                 try {
                     log.info("Attempting to validate JWT token...");
                     
-                    // Validate JWT token
-                    boolean isValid = jwtTokenProvider.validateToken(token);
-                    log.info("Token validation result: {}", isValid);
+                    // Validate JWT token and read its claims in one parse
+                    Claims claims = jwtTokenProvider.parseValidClaims(token);
+                    log.info("Token validation result: {}", claims != null);
                     
-                    if (isValid) {
-                        Long userIdFromToken = jwtTokenProvider.getUserIdFromToken(token);
+                    if (claims != null) {
+                        Long userIdFromToken = Long.parseLong(claims.getSubject());
                         log.info("✅ WebSocket authentication successful for userId: {}", userIdFromToken);
                         attributes.put("userId", userIdFromToken);
                         attributes.put("token", token);
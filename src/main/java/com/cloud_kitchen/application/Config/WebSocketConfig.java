@@ -1,6 +1,7 @@
 package com.cloud_kitchen.application.Config;
 
 import com.cloud_kitchen.application.Service.OrderChatWebSocketHandler;
+import com.cloud_kitchen.application.Service.OrderStatusWebSocketHandler;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
@@ -13,6 +14,7 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
 public class WebSocketConfig implements WebSocketConfigurer {
 
     private final OrderChatWebSocketHandler orderChatWebSocketHandler;
+    private final OrderStatusWebSocketHandler orderStatusWebSocketHandler;
     private final WebSocketAuthInterceptor webSocketAuthInterceptor;
 
     @Override
@@ -22,5 +24,10 @@ public class WebSocketConfig implements WebSocketConfigurer {
         registry.addHandler(orderChatWebSocketHandler, "/ws/chat")
                 .addInterceptors(webSocketAuthInterceptor)
                 .setAllowedOriginPatterns("*"); // Allow all origins with credentials
+        
+        // Per-user order status updates, kept off the chat endpoint
+        registry.addHandler(orderStatusWebSocketHandler, "/ws/orders")
+                .addInterceptors(webSocketAuthInterceptor)
+                .setAllowedOriginPatterns("*");
     }
 }
\ No newline at end of file
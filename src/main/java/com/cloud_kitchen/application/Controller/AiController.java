@@ -4,11 +4,15 @@ import com.cloud_kitchen.application.Service.AiService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping({"/ai", "/api/ai"})
@@ -18,46 +22,56 @@ public class AiController {
     private static final Logger log = LoggerFactory.getLogger(AiController.class);
 
     private final AiService aiService;
+    private final ThreadPoolTaskExecutor aiCallExecutor;
 
     /**
      * Get AI-suggested menu combinations with full menu item details (JSON response)
      */
     @GetMapping("/suggest-combinations-with-items")
-    public ResponseEntity<Map<String, Object>> suggestCombinationsWithItems(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> suggestCombinationsWithItems(
             @RequestParam(value = "itemCount", required = false, defaultValue = "3") Integer itemCount) {
-        try {
-            log.info("Requesting menu combinations with items: itemCount={}", itemCount);
-            Map<String, Object> suggestions = aiService.suggestMenuCombinationsWithItems(itemCount);
-            return ResponseEntity.ok(suggestions);
-        } catch (Exception e) {
-            log.error("Error in suggestCombinationsWithItems: ", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of(
-                            "success", false,
-                            "error", "Failed to generate suggestions",
-                            "message", e.getMessage()
-                    ));
-        }
+        log.info("Requesting menu combinations with items: itemCount={}", itemCount);
+        return offload(() -> aiService.suggestMenuCombinationsWithItems(itemCount),
+                "suggestCombinationsWithItems", "Failed to generate suggestions");
     }
 
     /**
      * Get AI meal recommendations with full menu item details (JSON response)
      */
     @PostMapping("/get-recommendations-with-items")
-    public ResponseEntity<Map<String, Object>> getMealRecommendationsWithItems(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> getMealRecommendationsWithItems(
             @RequestBody(required = false) Map<String, Object> preferences) {
+        log.info("Requesting meal recommendations with items: preferences={}", preferences);
+        return offload(() -> aiService.getMealRecommendationsWithItems(preferences),
+                "getMealRecommendationsWithItems", "Failed to generate recommendations");
+    }
+
+    /**
+     * Runs the call on the AI call pool so the request thread is released while Gemini answers
+     */
+    private CompletableFuture<ResponseEntity<Map<String, Object>>> offload(Supplier<Map<String, Object>> call,
+                                                                          String endpoint, String failure) {
         try {
-            log.info("Requesting meal recommendations with items: preferences={}", preferences);
-            Map<String, Object> recommendations = aiService.getMealRecommendationsWithItems(preferences);
-            return ResponseEntity.ok(recommendations);
-        } catch (Exception e) {
-            log.error("Error in getMealRecommendationsWithItems: ", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return ResponseEntity.ok(call.get());
+                } catch (Exception e) {
+                    log.error("Error in {}: ", endpoint, e);
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(Map.<String, Object>of(
+                                    "success", false,
+                                    "error", failure,
+                                    "message", String.valueOf(e.getMessage())
+                            ));
+                }
+            }, aiCallExecutor);
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                     .body(Map.of(
                             "success", false,
-                            "error", "Failed to generate recommendations",
-                            "message", e.getMessage()
-                    ));
+                            "error", "AI service is busy",
+                            "message", "Please try again in a moment."
+                    )));
         }
     }
 
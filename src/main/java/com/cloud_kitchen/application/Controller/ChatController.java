@@ -1,5 +1,6 @@
 package com.cloud_kitchen.application.Controller;
 
+import com.cloud_kitchen.application.DTO.ActiveChatSessionResponse;
 import com.cloud_kitchen.application.DTO.ApiResponse;
 import com.cloud_kitchen.application.DTO.ChatMessageDto;
 import com.cloud_kitchen.application.Entity.ChatSession;
@@ -34,9 +35,12 @@ public class ChatController {
     
     @GetMapping("/order/{orderId}/messages")
     @PreAuthorize("hasAnyRole('STUDENT', 'CHEF')")
-    public ResponseEntity<ApiResponse<List<ChatMessageDto>>> getOrderMessages(@PathVariable Long orderId) {
+    public ResponseEntity<ApiResponse<List<ChatMessageDto>>> getOrderMessages(@PathVariable Long orderId,
+                                                                             @RequestParam(required = false) Long before,
+                                                                             @RequestParam(required = false) Integer limit) {
         try {
-            List<ChatMessageDto> messages = chatService.getChatMessages(orderId);
+            // Without before/limit the whole transcript is returned, as before
+            List<ChatMessageDto> messages = chatService.getChatMessages(orderId, before, limit);
             return ResponseEntity.ok(new ApiResponse<>(true, "Messages fetched successfully", messages));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -46,9 +50,10 @@ public class ChatController {
     
     @GetMapping("/my-active-sessions")
     @PreAuthorize("hasAnyRole('STUDENT', 'CHEF')")
-    public ResponseEntity<ApiResponse<List<ChatSession>>> getActiveChatSessions() {
+    public ResponseEntity<ApiResponse<List<ActiveChatSessionResponse>>> getActiveChatSessions() {
         try {
-            List<ChatSession> sessions = chatService.getActiveChatSessionsForUser();
+            // Same session fields as before, plus the caller's unreadCount
+            List<ActiveChatSessionResponse> sessions = chatService.getActiveChatSessionsWithUnreadCounts();
             return ResponseEntity.ok(new ApiResponse<>(true, "Active chat sessions fetched successfully", sessions));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -4,15 +4,26 @@ import com.cloud_kitchen.application.DTO.*;
 import com.cloud_kitchen.application.Service.CustomMealService;
 import com.cloud_kitchen.application.Service.GeminiAIService;
 import com.cloud_kitchen.application.Service.SubscriptionService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/custom-meals")
 @CrossOrigin(origins = "*")
@@ -27,23 +38,102 @@ public class CustomMealController {
     @Autowired
     private SubscriptionService subscriptionService;
 
+    @Autowired
+    private ThreadPoolTaskExecutor aiStreamExecutor;
+
+    @Autowired
+    private ThreadPoolTaskExecutor aiCallExecutor;
+
+    @Value("${ai.stream.timeout-ms:60000}")
+    private long aiStreamTimeoutMs;
+
     /**
      * Generate AI meal (Premium feature - requires active subscription)
      */
     @PostMapping("/ai/generate")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<?> generateAIMeal(@RequestBody AIMealGenerationRequest request) {
+    public CompletableFuture<ResponseEntity<?>> generateAIMeal(@RequestBody AIMealGenerationRequest request) {
+        // Check if student has active subscription
+        SubscriptionResponse activeSubscription = subscriptionService.getActiveSubscription();
+        if (activeSubscription == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(403).body(Map.of(
+                    "error", "Premium Feature",
+                    "message", "AI Meal Builder is a premium feature. Please subscribe to Gold Plan to access this feature."
+            )));
+        }
+
+        return offload(() -> ResponseEntity.ok(geminiAIService.generateAIMeal(request)));
+    }
+
+    /**
+     * Generate AI meal as a server-sent event stream (Premium feature).
+     * Emits "chunk" events with the model text as it arrives, then one "result" event
+     * carrying the final AIMealGenerationResponse; "error" events precede a refused stream.
+     */
+    @PostMapping(value = "/ai/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<SseEmitter> streamAIMeal(@RequestBody AIMealGenerationRequest request) {
+        SseEmitter emitter = new SseEmitter(aiStreamTimeoutMs);
+
         // Check if student has active subscription
         SubscriptionResponse activeSubscription = subscriptionService.getActiveSubscription();
         if (activeSubscription == null) {
-            return ResponseEntity.status(403).body(Map.of(
+            sendErrorAndComplete(emitter, Map.of(
                     "error", "Premium Feature",
                     "message", "AI Meal Builder is a premium feature. Please subscribe to Gold Plan to access this feature."
             ));
+            return ResponseEntity.status(403).body(emitter);
+        }
+
+        try {
+            aiStreamExecutor.execute(() -> {
+                try {
+                    AIMealGenerationResponse response = geminiAIService.streamAIMeal(request,
+                            chunk -> sendEvent(emitter, "chunk", Map.of("text", chunk)));
+                    emitter.send(SseEmitter.event().name("result").data(response, MediaType.APPLICATION_JSON));
+                    emitter.complete();
+                } catch (Exception e) {
+                    log.warn("AI meal stream ended early: {}", e.getMessage());
+                    emitter.completeWithError(e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            sendErrorAndComplete(emitter, Map.of(
+                    "error", "Busy",
+                    "message", "AI Meal Builder is busy right now. Please try again in a moment."
+            ));
+            return ResponseEntity.status(503).body(emitter);
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Runs a Gemini-backed call on the AI call pool and releases the request thread meanwhile.
+     * The subscription check stays on the request thread, which holds the security context.
+     */
+    private CompletableFuture<ResponseEntity<?>> offload(Supplier<ResponseEntity<?>> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, aiCallExecutor);
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(503).body(Map.of(
+                    "error", "Busy",
+                    "message", "AI features are busy right now. Please try again in a moment."
+            )));
+        }
+    }
+
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            // Client went away; the exception aborts the upstream stream
+            throw new UncheckedIOException(e);
         }
+    }
 
-        AIMealGenerationResponse response = geminiAIService.generateAIMeal(request);
-        return ResponseEntity.ok(response);
+    private void sendErrorAndComplete(SseEmitter emitter, Map<String, String> error) {
+        sendEvent(emitter, "error", error);
+        emitter.complete();
     }
 
     /**
@@ -51,18 +141,17 @@ public class CustomMealController {
      */
     @PostMapping("/ai/recommendations")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<?> getSmartRecommendations(@RequestBody List<Long> currentItemIds) {
+    public CompletableFuture<ResponseEntity<?>> getSmartRecommendations(@RequestBody List<Long> currentItemIds) {
         // Check if student has active subscription
         SubscriptionResponse activeSubscription = subscriptionService.getActiveSubscription();
         if (activeSubscription == null) {
-            return ResponseEntity.status(403).body(Map.of(
+            return CompletableFuture.completedFuture(ResponseEntity.status(403).body(Map.of(
                     "error", "Premium Feature",
                     "message", "Smart Recommendations is a premium feature. Please subscribe to Gold Plan."
-            ));
+            )));
         }
 
-        List<AIMealItem> recommendations = geminiAIService.getSmartRecommendations(currentItemIds);
-        return ResponseEntity.ok(recommendations);
+        return offload(() -> ResponseEntity.ok(geminiAIService.getSmartRecommendations(currentItemIds)));
     }
 
     /**
@@ -70,22 +159,21 @@ public class CustomMealController {
      */
     @PostMapping("/ai/analyze")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<?> analyzeMeal(@RequestBody Map<String, Object> request) {
+    public CompletableFuture<ResponseEntity<?>> analyzeMeal(@RequestBody Map<String, Object> request) {
         // Check if student has active subscription
         SubscriptionResponse activeSubscription = subscriptionService.getActiveSubscription();
         if (activeSubscription == null) {
-            return ResponseEntity.status(403).body(Map.of(
+            return CompletableFuture.completedFuture(ResponseEntity.status(403).body(Map.of(
                     "error", "Premium Feature",
                     "message", "Meal Analysis is a premium feature. Please subscribe to Gold Plan."
-            ));
+            )));
         }
 
         String mealName = (String) request.get("mealName");
         @SuppressWarnings("unchecked")
         List<Long> itemIds = (List<Long>) request.get("itemIds");
 
-        Map<String, Object> analysis = geminiAIService.analyzeMeal(mealName, itemIds);
-        return ResponseEntity.ok(analysis);
+        return offload(() -> ResponseEntity.ok(geminiAIService.analyzeMeal(mealName, itemIds)));
     }
 
     /**
@@ -1,14 +1,19 @@
 package com.cloud_kitchen.application.Controller;
 
 import com.cloud_kitchen.application.DTO.ApiResponse;
+import com.cloud_kitchen.application.DTO.KitchenBoardResponse;
+import com.cloud_kitchen.application.DTO.OrderPageResponse;
 import com.cloud_kitchen.application.DTO.OrderRequest;
 import com.cloud_kitchen.application.DTO.OrderResponse;
 import com.cloud_kitchen.application.Entity.OrderStatus;
 import com.cloud_kitchen.application.Entity.User;
 import com.cloud_kitchen.application.Repository.UserRepository;
+import com.cloud_kitchen.application.Security.UserPrincipal;
+import com.cloud_kitchen.application.Service.KitchenBoardService;
 import com.cloud_kitchen.application.Service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,6 +21,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 //@RestController
@@ -119,6 +125,7 @@ public class OrderController {
 
     private final OrderService orderService;
     private final UserRepository userRepository;
+    private final KitchenBoardService kitchenBoardService;
 
     @PostMapping
     @PreAuthorize("hasRole('STUDENT')")
@@ -148,6 +155,40 @@ public class OrderController {
         }
     }
 
+    @GetMapping("/my-orders/page")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<ApiResponse<OrderPageResponse>> getMyOrdersPage(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            OrderPageResponse page = orderService.getMyOrdersPage(status, from, to, cursor, size);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Orders fetched successfully", page));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<OrderPageResponse>> getOrdersPage(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            OrderPageResponse page = orderService.getOrdersPage(status, from, to, cursor, size);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Orders fetched successfully", page));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<OrderResponse>> getOrderById(@PathVariable Long id) {
         try {
@@ -260,6 +301,42 @@ public class OrderController {
                     .body(new ApiResponse<>(false, e.getMessage(), null));
         }
     }
-}
 
+    @GetMapping("/chef/board")
+    @PreAuthorize("hasRole('CHEF')")
+    public ResponseEntity<ApiResponse<KitchenBoardResponse>> getChefKitchenBoard() {
+        try {
+            // Chef id comes from the JWT principal so a board poll makes no database query
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
+
+            // Live queue from memory; changes follow as KITCHEN_BOARD_UPDATE frames on /ws/orders
+            KitchenBoardResponse board = kitchenBoardService.getBoard(userPrincipal.getId());
+            return ResponseEntity.ok(new ApiResponse<>(true, "Kitchen board fetched successfully", board));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/chef/my-orders/page")
+    @PreAuthorize("hasRole('CHEF')")
+    public ResponseEntity<ApiResponse<OrderPageResponse>> getChefOrdersPage(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            String email = SecurityContextHolder.getContext().getAuthentication().getName();
+            User user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
 
+            OrderPageResponse page = orderService.getOrdersByChefPage(user.getId(), status, from, to, cursor, size);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Orders fetched successfully", page));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
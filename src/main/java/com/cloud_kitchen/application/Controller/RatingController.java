@@ -2,10 +2,14 @@ package com.cloud_kitchen.application.Controller;
 
 import com.cloud_kitchen.application.DTO.ApiResponse;
 import com.cloud_kitchen.application.DTO.ChefRatingStats;
+import com.cloud_kitchen.application.DTO.LeaderboardResponse;
 import com.cloud_kitchen.application.DTO.MenuItemRatingStats;
+import com.cloud_kitchen.application.DTO.RatingPageResponse;
 import com.cloud_kitchen.application.DTO.RatingRequest;
 import com.cloud_kitchen.application.DTO.RatingResponse;
+import com.cloud_kitchen.application.DTO.RatingSummaryResponse;
 import com.cloud_kitchen.application.Security.UserPrincipal;
+import com.cloud_kitchen.application.Service.RatingLeaderboardService;
 import com.cloud_kitchen.application.Service.RatingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -26,6 +30,7 @@ import java.util.Map;
 public class RatingController {
 
     private final RatingService ratingService;
+    private final RatingLeaderboardService ratingLeaderboardService;
 
     @PostMapping("/chef")
     @PreAuthorize("hasRole('STUDENT')")
@@ -63,6 +68,45 @@ public class RatingController {
         }
     }
 
+    /**
+     * Latest-first page of a chef's ratings; pass nextCursor from the previous page as cursor
+     */
+    @GetMapping("/chef/{chefId}/feed")
+    @PreAuthorize("hasAnyRole('STUDENT', 'CHEF', 'ADMIN')")
+    public ResponseEntity<ApiResponse<RatingPageResponse>> getChefRatingFeed(
+            @PathVariable Long chefId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            RatingPageResponse page = ratingService.getChefRatingFeed(chefId, cursor, size);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Chef ratings retrieved successfully", page));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "An error occurred while fetching ratings", null));
+        }
+    }
+
+    /**
+     * Average, count and star histogram of a chef's ratings, without the reviews
+     */
+    @GetMapping("/chef/{chefId}/summary")
+    @PreAuthorize("hasAnyRole('STUDENT', 'CHEF', 'ADMIN')")
+    public ResponseEntity<ApiResponse<RatingSummaryResponse>> getChefRatingSummary(@PathVariable Long chefId) {
+        try {
+            RatingSummaryResponse summary = ratingService.getChefRatingSummary(chefId);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Chef rating summary retrieved successfully", summary));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "An error occurred while fetching the rating summary", null));
+        }
+    }
+
     @GetMapping("/all")
     @PreAuthorize("hasAnyRole('STUDENT', 'CHEF', 'ADMIN')")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getAllRatings() {
@@ -81,6 +125,42 @@ public class RatingController {
         }
     }
 
+    /**
+     * Top chefs, ranked by Bayesian-average rating (sort=rating, default) or by number of ratings (sort=volume)
+     */
+    @GetMapping("/leaderboard/chefs")
+    @PreAuthorize("hasAnyRole('STUDENT', 'CHEF', 'ADMIN')")
+    public ResponseEntity<ApiResponse<LeaderboardResponse>> getChefLeaderboard(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        try {
+            LeaderboardResponse leaderboard = ratingLeaderboardService.getChefLeaderboard(sort, page, size);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Chef leaderboard retrieved successfully", leaderboard));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "An error occurred while fetching the chef leaderboard", null));
+        }
+    }
+
+    /**
+     * Top dishes, ranked by Bayesian-average rating (sort=rating, default) or by number of ratings (sort=volume)
+     */
+    @GetMapping("/leaderboard/menu-items")
+    @PreAuthorize("hasAnyRole('STUDENT', 'CHEF', 'ADMIN')")
+    public ResponseEntity<ApiResponse<LeaderboardResponse>> getMenuItemLeaderboard(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        try {
+            LeaderboardResponse leaderboard = ratingLeaderboardService.getMenuItemLeaderboard(sort, page, size);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Menu item leaderboard retrieved successfully", leaderboard));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "An error occurred while fetching the menu item leaderboard", null));
+        }
+    }
+
     @PostMapping("/menu-item")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<ApiResponse<RatingResponse>> rateMenuItem(@Valid @RequestBody RatingRequest request) {
@@ -116,6 +196,45 @@ public class RatingController {
         }
     }
 
+    /**
+     * Latest-first page of a menu item's ratings; pass nextCursor from the previous page as cursor
+     */
+    @GetMapping("/menu-item/{menuItemId}/feed")
+    @PreAuthorize("hasAnyRole('STUDENT', 'CHEF', 'ADMIN')")
+    public ResponseEntity<ApiResponse<RatingPageResponse>> getMenuItemRatingFeed(
+            @PathVariable Long menuItemId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            RatingPageResponse page = ratingService.getMenuItemRatingFeed(menuItemId, cursor, size);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Menu item ratings retrieved successfully", page));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "An error occurred while fetching ratings", null));
+        }
+    }
+
+    /**
+     * Average, count and star histogram of a menu item's ratings, without the reviews
+     */
+    @GetMapping("/menu-item/{menuItemId}/summary")
+    @PreAuthorize("hasAnyRole('STUDENT', 'CHEF', 'ADMIN')")
+    public ResponseEntity<ApiResponse<RatingSummaryResponse>> getMenuItemRatingSummary(@PathVariable Long menuItemId) {
+        try {
+            RatingSummaryResponse summary = ratingService.getMenuItemRatingSummary(menuItemId);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Menu item rating summary retrieved successfully", summary));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "An error occurred while fetching the rating summary", null));
+        }
+    }
+
     @GetMapping("/my-rated-orders")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<ApiResponse<List<Long>>> getMyRatedOrders() {
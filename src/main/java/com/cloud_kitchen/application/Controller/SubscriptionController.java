@@ -3,6 +3,7 @@ package com.cloud_kitchen.application.Controller;
 import com.cloud_kitchen.application.DTO.SubscriptionRequest;
 import com.cloud_kitchen.application.DTO.SubscriptionResponse;
 import com.cloud_kitchen.application.Entity.SubscriptionPlan;
+import com.cloud_kitchen.application.Entity.SubscriptionStatus;
 import com.cloud_kitchen.application.Service.SubscriptionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -91,11 +92,15 @@ public class SubscriptionController {
     }
 
     /**
-     * Get all subscriptions (Admin)
+     * Get all subscriptions, optionally only those in one status (Admin)
      */
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<SubscriptionResponse>> getAllSubscriptions() {
+    public ResponseEntity<List<SubscriptionResponse>> getAllSubscriptions(
+            @RequestParam(required = false) SubscriptionStatus status) {
+        if (status != null) {
+            return ResponseEntity.ok(subscriptionService.getSubscriptionsByStatus(status));
+        }
         return ResponseEntity.ok(subscriptionService.getAllSubscriptions());
     }
 
@@ -0,0 +1,44 @@
+package com.cloud_kitchen.application.DTO;
+
+import com.cloud_kitchen.application.Entity.ChatSession;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An active chat session as returned to its participants: the session's own fields
+ * plus how many messages the current user has not read yet.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActiveChatSessionResponse {
+    
+    private Long id;
+    private Long orderId;
+    private Long createdByStudentId;
+    private Long assignedChefId;
+    private String status;
+    private LocalDateTime startedAt;
+    private LocalDateTime endedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Integer unreadCount;
+    
+    public static ActiveChatSessionResponse fromEntity(ChatSession entity, Integer unreadCount) {
+        ActiveChatSessionResponse dto = new ActiveChatSessionResponse();
+        dto.setId(entity.getId());
+        dto.setOrderId(entity.getOrderId());
+        dto.setCreatedByStudentId(entity.getCreatedByStudentId());
+        dto.setAssignedChefId(entity.getAssignedChefId());
+        dto.setStatus(entity.getStatus().name());
+        dto.setStartedAt(entity.getStartedAt());
+        dto.setEndedAt(entity.getEndedAt());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        dto.setUnreadCount(unreadCount);
+        return dto;
+    }
+}
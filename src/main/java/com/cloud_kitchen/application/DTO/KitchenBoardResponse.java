@@ -0,0 +1,30 @@
+package com.cloud_kitchen.application.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A chef's live queue: every order of theirs still in the kitchen, oldest first.
+ * version increases with every change; KITCHEN_BOARD_UPDATE frames carry the version they produce,
+ * so a client that sees a gap fetches the board again.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenBoardResponse {
+    private Long chefId;
+    private Long version;
+    private List<OrderResponse> orders;
+
+    public Long getChefId() { return chefId; }
+    public void setChefId(Long chefId) { this.chefId = chefId; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public List<OrderResponse> getOrders() { return orders; }
+    public void setOrders(List<OrderResponse> orders) { this.orders = orders; }
+}
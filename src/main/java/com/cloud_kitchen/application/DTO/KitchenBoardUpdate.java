@@ -0,0 +1,39 @@
+package com.cloud_kitchen.application.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Frame pushed on the order channel when a chef's kitchen board changes.
+ * action is UPSERT (order added or changed, order set) or REMOVE (order left the kitchen, order null).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenBoardUpdate {
+    private String type;
+    private String action;
+    private Long chefId;
+    private Long orderId;
+    private Long version;
+    private OrderResponse order;
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public Long getChefId() { return chefId; }
+    public void setChefId(Long chefId) { this.chefId = chefId; }
+
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public OrderResponse getOrder() { return order; }
+    public void setOrder(OrderResponse order) { this.order = order; }
+}
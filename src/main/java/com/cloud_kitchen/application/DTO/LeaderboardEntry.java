@@ -0,0 +1,39 @@
+package com.cloud_kitchen.application.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One ranked chef or menu item. bayesianRating pulls the raw average towards the
+ * platform-wide mean, so a handful of ratings cannot top the board.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntry {
+    private Integer rank;
+    private Long targetId;
+    private String name;
+    private Double averageRating;
+    private Double bayesianRating;
+    private Long totalRatings;
+
+    public Integer getRank() { return rank; }
+    public void setRank(Integer rank) { this.rank = rank; }
+
+    public Long getTargetId() { return targetId; }
+    public void setTargetId(Long targetId) { this.targetId = targetId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Double getAverageRating() { return averageRating; }
+    public void setAverageRating(Double averageRating) { this.averageRating = averageRating; }
+
+    public Double getBayesianRating() { return bayesianRating; }
+    public void setBayesianRating(Double bayesianRating) { this.bayesianRating = bayesianRating; }
+
+    public Long getTotalRatings() { return totalRatings; }
+    public void setTotalRatings(Long totalRatings) { this.totalRatings = totalRatings; }
+}
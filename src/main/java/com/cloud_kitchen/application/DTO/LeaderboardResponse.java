@@ -0,0 +1,40 @@
+package com.cloud_kitchen.application.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a chef or menu item leaderboard, ranked by the requested sort
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardResponse {
+    private String sort;
+    private List<LeaderboardEntry> entries;
+    private Integer page;
+    private Integer size;
+    private Integer totalEntries;
+    private Boolean hasMore;
+
+    public String getSort() { return sort; }
+    public void setSort(String sort) { this.sort = sort; }
+
+    public List<LeaderboardEntry> getEntries() { return entries; }
+    public void setEntries(List<LeaderboardEntry> entries) { this.entries = entries; }
+
+    public Integer getPage() { return page; }
+    public void setPage(Integer page) { this.page = page; }
+
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+
+    public Integer getTotalEntries() { return totalEntries; }
+    public void setTotalEntries(Integer totalEntries) { this.totalEntries = totalEntries; }
+
+    public Boolean getHasMore() { return hasMore; }
+    public void setHasMore(Boolean hasMore) { this.hasMore = hasMore; }
+}
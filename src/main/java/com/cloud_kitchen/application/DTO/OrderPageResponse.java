@@ -0,0 +1,33 @@
+package com.cloud_kitchen.application.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated order listing. Pass nextCursor back as the cursor
+ * parameter to fetch the following page; it is null once hasMore is false.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageResponse {
+    private List<OrderResponse> orders;
+    private String nextCursor;
+    private Boolean hasMore;
+    private Integer size;
+
+    public List<OrderResponse> getOrders() { return orders; }
+    public void setOrders(List<OrderResponse> orders) { this.orders = orders; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public Boolean getHasMore() { return hasMore; }
+    public void setHasMore(Boolean hasMore) { this.hasMore = hasMore; }
+
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+}
@@ -0,0 +1,24 @@
+package com.cloud_kitchen.application.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Frame pushed on the order status channel when one of the user's orders changes status.
+ * Clients patch their cached order list with it instead of polling the full list.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusUpdate {
+    
+    private String type;
+    private Long orderId;
+    private String orderNumber;
+    private String oldStatus;
+    private String newStatus;
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,33 @@
+package com.cloud_kitchen.application.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a latest-first rating feed. Pass nextCursor back as the cursor
+ * parameter to fetch older ratings; it is null once hasMore is false.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingPageResponse {
+    private List<RatingResponse> ratings;
+    private Long nextCursor;
+    private Boolean hasMore;
+    private Integer size;
+
+    public List<RatingResponse> getRatings() { return ratings; }
+    public void setRatings(List<RatingResponse> ratings) { this.ratings = ratings; }
+
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+
+    public Boolean getHasMore() { return hasMore; }
+    public void setHasMore(Boolean hasMore) { this.hasMore = hasMore; }
+
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+}
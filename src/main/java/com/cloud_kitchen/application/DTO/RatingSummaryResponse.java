@@ -0,0 +1,33 @@
+package com.cloud_kitchen.application.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Aggregate rating of a chef or menu item without any review rows.
+ * histogram maps each star value 1..5 to its number of ratings.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingSummaryResponse {
+    private Long targetId;
+    private Double averageRating;
+    private Long totalRatings;
+    private Map<Integer, Long> histogram;
+
+    public Long getTargetId() { return targetId; }
+    public void setTargetId(Long targetId) { this.targetId = targetId; }
+
+    public Double getAverageRating() { return averageRating; }
+    public void setAverageRating(Double averageRating) { this.averageRating = averageRating; }
+
+    public Long getTotalRatings() { return totalRatings; }
+    public void setTotalRatings(Long totalRatings) { this.totalRatings = totalRatings; }
+
+    public Map<Integer, Long> getHistogram() { return histogram; }
+    public void setHistogram(Map<Integer, Long> histogram) { this.histogram = histogram; }
+}
@@ -12,7 +12,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+        @Index(name = "idx_chat_messages_session_read", columnList = "chat_session_id, read_status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
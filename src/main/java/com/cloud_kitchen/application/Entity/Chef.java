@@ -2,6 +2,7 @@ package com.cloud_kitchen.application.Entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,7 +10,9 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "chefs")
+@Table(name = "chefs", indexes = {
+        @Index(name = "idx_chefs_rating", columnList = "rating")
+})
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
@@ -25,8 +28,14 @@ public class Chef extends User {
     @Column(columnDefinition = "TEXT")
     private String bio;
 
+    // Average and count of this chef's ratings, maintained by RatingSummaryService on every rating.
+    // Not updatable through the entity, so saving a stale Chef never overwrites them.
+    @Column(updatable = false)
     private Double rating = 0.0;
 
+    @Column(updatable = false)
+    private Long ratingCount = 0L;
+
     private Boolean verified = false;
 
     public String getSpecialization() { return specialization; }
@@ -40,6 +49,9 @@ public class Chef extends User {
     
     public Double getRating() { return rating; }
     public void setRating(Double rating) { this.rating = rating; }
+
+    public Long getRatingCount() { return ratingCount; }
+    public void setRatingCount(Long ratingCount) { this.ratingCount = ratingCount; }
     
     public Boolean getVerified() { return verified; }
     public void setVerified(Boolean verified) { this.verified = verified; }
@@ -0,0 +1,42 @@
+package com.cloud_kitchen.application.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-day invoice counter. Each row holds the next value that has not yet been handed out
+ * to any application node; nodes reserve blocks of values from it under a row lock.
+ */
+@Entity
+@Table(name = "invoice_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceSequence {
+
+    // Business day in yyyyMMdd form, same as the date part of the invoice number
+    @Id
+    @Column(name = "sequence_day", length = 8)
+    private String sequenceDay;
+
+    @Column(nullable = false)
+    private Long nextValue = 1L;
+
+    @Version
+    private Long version;
+
+    public InvoiceSequence(String sequenceDay) {
+        this.sequenceDay = sequenceDay;
+    }
+
+    public String getSequenceDay() { return sequenceDay; }
+    public void setSequenceDay(String sequenceDay) { this.sequenceDay = sequenceDay; }
+
+    public Long getNextValue() { return nextValue; }
+    public void setNextValue(Long nextValue) { this.nextValue = nextValue; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
@@ -43,6 +43,14 @@ public class MenuItem {
 
     private Integer preparationTime; // in minutes
 
+    // Average and count of this item's ratings, maintained by RatingSummaryService on every rating.
+    // Not updatable through the entity, so saving a stale MenuItem never overwrites them.
+    @Column(updatable = false)
+    private Double rating = 0.0;
+
+    @Column(updatable = false)
+    private Long ratingCount = 0L;
+
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "chef_id")
     private Chef chef;
@@ -82,6 +90,12 @@ public class MenuItem {
     public Integer getPreparationTime() { return preparationTime; }
     public void setPreparationTime(Integer preparationTime) { this.preparationTime = preparationTime; }
     
+    public Double getRating() { return rating; }
+    public void setRating(Double rating) { this.rating = rating; }
+
+    public Long getRatingCount() { return ratingCount; }
+    public void setRatingCount(Long ratingCount) { this.ratingCount = ratingCount; }
+
     public Chef getChef() { return chef; }
     public void setChef(Chef chef) { this.chef = chef; }
     
@@ -16,7 +16,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_orders_student_created_at", columnList = "student_id, created_at"),
+        @Index(name = "idx_orders_status_created_at", columnList = "status, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
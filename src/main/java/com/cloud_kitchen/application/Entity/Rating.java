@@ -11,7 +11,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ratings")
+@Table(name = "ratings", indexes = {
+        @Index(name = "idx_ratings_chef_id_id", columnList = "chef_id, id"),
+        @Index(name = "idx_ratings_menu_item_id_id", columnList = "menu_item_id, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,134 @@
+package com.cloud_kitchen.application.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running rating aggregate (sum, count and 1-5 star histogram) for a chef or a menu item.
+ * Maintained incrementally by RatingService so read paths never have to run AVG/COUNT over ratings.
+ */
+@Entity
+@Table(name = "rating_summaries",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"target_type", "target_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, length = 20)
+    private TargetType targetType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Column(nullable = false)
+    private Long ratingSum = 0L;
+
+    @Column(nullable = false)
+    private Long ratingCount = 0L;
+
+    @Column(nullable = false)
+    private Long oneStarCount = 0L;
+
+    @Column(nullable = false)
+    private Long twoStarCount = 0L;
+
+    @Column(nullable = false)
+    private Long threeStarCount = 0L;
+
+    @Column(nullable = false)
+    private Long fourStarCount = 0L;
+
+    @Column(nullable = false)
+    private Long fiveStarCount = 0L;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum TargetType {
+        CHEF, MENU_ITEM
+    }
+
+    public RatingSummary(TargetType targetType, Long targetId) {
+        this.targetType = targetType;
+        this.targetId = targetId;
+    }
+
+    /**
+     * Folds a single star rating into the aggregate
+     */
+    public void addRating(int stars) {
+        addRatings(stars, 1L);
+    }
+
+    /**
+     * Folds {@code count} ratings of the same star value into the aggregate
+     */
+    public void addRatings(int stars, long count) {
+        ratingSum += (long) stars * count;
+        ratingCount += count;
+        switch (stars) {
+            case 1 -> oneStarCount += count;
+            case 2 -> twoStarCount += count;
+            case 3 -> threeStarCount += count;
+            case 4 -> fourStarCount += count;
+            case 5 -> fiveStarCount += count;
+            default -> throw new IllegalArgumentException("Rating must be between 1 and 5: " + stars);
+        }
+    }
+
+    public double getAverageRating() {
+        return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+    }
+
+    /**
+     * Star histogram indexed 0..4 for 1..5 stars
+     */
+    public long[] getHistogram() {
+        return new long[]{oneStarCount, twoStarCount, threeStarCount, fourStarCount, fiveStarCount};
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public TargetType getTargetType() { return targetType; }
+    public void setTargetType(TargetType targetType) { this.targetType = targetType; }
+
+    public Long getTargetId() { return targetId; }
+    public void setTargetId(Long targetId) { this.targetId = targetId; }
+
+    public Long getRatingSum() { return ratingSum; }
+    public void setRatingSum(Long ratingSum) { this.ratingSum = ratingSum; }
+
+    public Long getRatingCount() { return ratingCount; }
+    public void setRatingCount(Long ratingCount) { this.ratingCount = ratingCount; }
+
+    public Long getOneStarCount() { return oneStarCount; }
+    public void setOneStarCount(Long oneStarCount) { this.oneStarCount = oneStarCount; }
+
+    public Long getTwoStarCount() { return twoStarCount; }
+    public void setTwoStarCount(Long twoStarCount) { this.twoStarCount = twoStarCount; }
+
+    public Long getThreeStarCount() { return threeStarCount; }
+    public void setThreeStarCount(Long threeStarCount) { this.threeStarCount = threeStarCount; }
+
+    public Long getFourStarCount() { return fourStarCount; }
+    public void setFourStarCount(Long fourStarCount) { this.fourStarCount = fourStarCount; }
+
+    public Long getFiveStarCount() { return fiveStarCount; }
+    public void setFiveStarCount(Long fiveStarCount) { this.fiveStarCount = fiveStarCount; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -11,7 +11,10 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "subscriptions")
+@Table(name = "subscriptions", indexes = {
+        @Index(name = "idx_subscriptions_status_end_date", columnList = "status, end_date"),
+        @Index(name = "idx_subscriptions_student_status", columnList = "student_id, status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
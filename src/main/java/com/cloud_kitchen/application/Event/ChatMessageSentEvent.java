@@ -0,0 +1,36 @@
+package com.cloud_kitchen.application.Event;
+
+import java.util.Set;
+
+/**
+ * Published when a chat message is saved, with the participants who have not read it yet.
+ * Listeners react after the publishing transaction commits.
+ */
+public class ChatMessageSentEvent {
+
+    private final Long chatSessionId;
+    private final Long messageId;
+    private final Long senderUserId;
+    private final Set<Long> recipientIds;
+
+    public ChatMessageSentEvent(Long chatSessionId, Long messageId, Long senderUserId, Set<Long> recipientIds) {
+        this.chatSessionId = chatSessionId;
+        this.messageId = messageId;
+        this.senderUserId = senderUserId;
+        this.recipientIds = recipientIds;
+    }
+
+    public Long getChatSessionId() { return chatSessionId; }
+
+    public Long getMessageId() { return messageId; }
+
+    public Long getSenderUserId() { return senderUserId; }
+
+    public Set<Long> getRecipientIds() { return recipientIds; }
+
+    @Override
+    public String toString() {
+        return "ChatMessageSentEvent{chatSessionId=" + chatSessionId + ", messageId=" + messageId
+                + ", senderUserId=" + senderUserId + ", recipients=" + recipientIds.size() + "}";
+    }
+}
@@ -0,0 +1,25 @@
+package com.cloud_kitchen.application.Event;
+
+/**
+ * Published when an order's chat session is created, reactivated or closed.
+ * Listeners react after the publishing transaction commits.
+ */
+public class ChatSessionChangedEvent {
+
+    private final Long orderId;
+    private final String reason;
+
+    public ChatSessionChangedEvent(Long orderId, String reason) {
+        this.orderId = orderId;
+        this.reason = reason;
+    }
+
+    public Long getOrderId() { return orderId; }
+
+    public String getReason() { return reason; }
+
+    @Override
+    public String toString() {
+        return "ChatSessionChangedEvent{orderId=" + orderId + ", reason='" + reason + "'}";
+    }
+}
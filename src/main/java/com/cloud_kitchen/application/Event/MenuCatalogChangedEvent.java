@@ -0,0 +1,26 @@
+package com.cloud_kitchen.application.Event;
+
+/**
+ * Published whenever data shown in the menu catalog changes (menu items, chef verification).
+ * Rating changes are patched into the catalog from RatingSummaryChangedEvent without a new version.
+ * Listeners react after the publishing transaction commits.
+ */
+public class MenuCatalogChangedEvent {
+
+    private final Long menuItemId;
+    private final String reason;
+
+    public MenuCatalogChangedEvent(Long menuItemId, String reason) {
+        this.menuItemId = menuItemId;
+        this.reason = reason;
+    }
+
+    public Long getMenuItemId() { return menuItemId; }
+
+    public String getReason() { return reason; }
+
+    @Override
+    public String toString() {
+        return "MenuCatalogChangedEvent{menuItemId=" + menuItemId + ", reason='" + reason + "'}";
+    }
+}
@@ -0,0 +1,23 @@
+package com.cloud_kitchen.application.Event;
+
+import com.cloud_kitchen.application.DTO.OrderResponse;
+
+/**
+ * Published for every order placed, with the order as returned to the student.
+ * Listeners react after the publishing transaction commits.
+ */
+public class OrderCreatedEvent {
+
+    private final OrderResponse order;
+
+    public OrderCreatedEvent(OrderResponse order) {
+        this.order = order;
+    }
+
+    public OrderResponse getOrder() { return order; }
+
+    @Override
+    public String toString() {
+        return "OrderCreatedEvent{orderId=" + order.getId() + ", status=" + order.getStatus() + "}";
+    }
+}
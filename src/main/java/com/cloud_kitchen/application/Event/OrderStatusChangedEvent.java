@@ -0,0 +1,54 @@
+package com.cloud_kitchen.application.Event;
+
+import com.cloud_kitchen.application.DTO.OrderResponse;
+import com.cloud_kitchen.application.Entity.OrderStatus;
+
+import java.util.Set;
+
+/**
+ * Published when an order moves to a new status.
+ * Listeners react after the publishing transaction commits.
+ *
+ * Carries the order's student and chefs, resolved while the order is still attached, and a
+ * snapshot of the order after the change, so listeners never have to load the order again.
+ */
+public class OrderStatusChangedEvent {
+
+    private final Long orderId;
+    private final String orderNumber;
+    private final OrderStatus oldStatus;
+    private final OrderStatus newStatus;
+    private final Long studentId;
+    private final Set<Long> chefIds;
+    private final OrderResponse order;
+
+    public OrderStatusChangedEvent(Long orderId, String orderNumber, OrderStatus oldStatus, OrderStatus newStatus,
+                                   Long studentId, Set<Long> chefIds, OrderResponse order) {
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+        this.studentId = studentId;
+        this.chefIds = chefIds;
+        this.order = order;
+    }
+
+    public Long getOrderId() { return orderId; }
+
+    public String getOrderNumber() { return orderNumber; }
+
+    public OrderStatus getOldStatus() { return oldStatus; }
+
+    public OrderStatus getNewStatus() { return newStatus; }
+
+    public Long getStudentId() { return studentId; }
+
+    public Set<Long> getChefIds() { return chefIds; }
+
+    public OrderResponse getOrder() { return order; }
+
+    @Override
+    public String toString() {
+        return "OrderStatusChangedEvent{orderId=" + orderId + ", " + oldStatus + " -> " + newStatus + "}";
+    }
+}
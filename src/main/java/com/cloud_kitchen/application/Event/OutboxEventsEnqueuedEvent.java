@@ -0,0 +1,21 @@
+package com.cloud_kitchen.application.Event;
+
+/**
+ * Published when outbox rows are written, so the dispatcher drains them right after
+ * the writing transaction commits instead of waiting for its next poll.
+ */
+public class OutboxEventsEnqueuedEvent {
+
+    private final int count;
+
+    public OutboxEventsEnqueuedEvent(int count) {
+        this.count = count;
+    }
+
+    public int getCount() { return count; }
+
+    @Override
+    public String toString() {
+        return "OutboxEventsEnqueuedEvent{count=" + count + "}";
+    }
+}
@@ -0,0 +1,40 @@
+package com.cloud_kitchen.application.Event;
+
+import com.cloud_kitchen.application.Entity.RatingSummary;
+
+/**
+ * Published after a rating is folded into a RatingSummary, carrying the summary's new totals.
+ * Listeners react after the publishing transaction commits.
+ */
+public class RatingSummaryChangedEvent {
+
+    private final RatingSummary.TargetType targetType;
+    private final Long targetId;
+    private final String targetName;
+    private final long ratingSum;
+    private final long ratingCount;
+
+    public RatingSummaryChangedEvent(RatingSummary.TargetType targetType, Long targetId, String targetName,
+                                     long ratingSum, long ratingCount) {
+        this.targetType = targetType;
+        this.targetId = targetId;
+        this.targetName = targetName;
+        this.ratingSum = ratingSum;
+        this.ratingCount = ratingCount;
+    }
+
+    public RatingSummary.TargetType getTargetType() { return targetType; }
+
+    public Long getTargetId() { return targetId; }
+
+    public String getTargetName() { return targetName; }
+
+    public long getRatingSum() { return ratingSum; }
+
+    public long getRatingCount() { return ratingCount; }
+
+    @Override
+    public String toString() {
+        return "RatingSummaryChangedEvent{" + targetType + " " + targetId + ", count=" + ratingCount + "}";
+    }
+}
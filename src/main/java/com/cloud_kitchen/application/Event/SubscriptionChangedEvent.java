@@ -0,0 +1,30 @@
+package com.cloud_kitchen.application.Event;
+
+/**
+ * Published when a student's subscription is approved, rejected, disabled, expired or deleted.
+ * Listeners react after the publishing transaction commits.
+ */
+public class SubscriptionChangedEvent {
+
+    private final Long studentId;
+    private final Long subscriptionId;
+    private final String reason;
+
+    public SubscriptionChangedEvent(Long studentId, Long subscriptionId, String reason) {
+        this.studentId = studentId;
+        this.subscriptionId = subscriptionId;
+        this.reason = reason;
+    }
+
+    public Long getStudentId() { return studentId; }
+
+    public Long getSubscriptionId() { return subscriptionId; }
+
+    public String getReason() { return reason; }
+
+    @Override
+    public String toString() {
+        return "SubscriptionChangedEvent{studentId=" + studentId + ", subscriptionId=" + subscriptionId
+                + ", reason='" + reason + "'}";
+    }
+}
@@ -0,0 +1,25 @@
+package com.cloud_kitchen.application.Event;
+
+/**
+ * Published when a user's account state (e.g. active flag) changes, so cached principals
+ * for that user are dropped once the publishing transaction commits.
+ */
+public class UserAccountChangedEvent {
+
+    private final Long userId;
+    private final String reason;
+
+    public UserAccountChangedEvent(Long userId, String reason) {
+        this.userId = userId;
+        this.reason = reason;
+    }
+
+    public Long getUserId() { return userId; }
+
+    public String getReason() { return reason; }
+
+    @Override
+    public String toString() {
+        return "UserAccountChangedEvent{userId=" + userId + ", reason='" + reason + "'}";
+    }
+}
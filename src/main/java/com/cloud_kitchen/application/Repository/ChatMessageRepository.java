@@ -1,11 +1,14 @@
 package com.cloud_kitchen.application.Repository;
 
 import com.cloud_kitchen.application.Entity.ChatMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -18,4 +21,23 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     
     @Query("SELECT COUNT(cm) FROM ChatMessage cm WHERE cm.chatSessionId = :chatSessionId AND cm.senderUserId != :userId AND cm.readStatus = false")
     Long countUnreadMessages(@Param("chatSessionId") Long chatSessionId, @Param("userId") Long userId);
-}
\ No newline at end of file
+    
+    // Newest first; callers pass a page size and reverse the page for display
+    @Query("SELECT cm FROM ChatMessage cm WHERE cm.chatSessionId = :chatSessionId ORDER BY cm.id DESC")
+    List<ChatMessage> findLatest(@Param("chatSessionId") Long chatSessionId, Pageable pageable);
+    
+    @Query("SELECT cm FROM ChatMessage cm WHERE cm.chatSessionId = :chatSessionId AND cm.id < :beforeId ORDER BY cm.id DESC")
+    List<ChatMessage> findLatestBefore(@Param("chatSessionId") Long chatSessionId, @Param("beforeId") Long beforeId, Pageable pageable);
+    
+    // Unread message ids per session for one reader, used to seed the in-memory unread counters
+    @Query("SELECT cm.chatSessionId, cm.id FROM ChatMessage cm " +
+           "WHERE cm.chatSessionId IN :chatSessionIds AND cm.senderUserId <> :userId AND cm.readStatus = false")
+    List<Object[]> findUnreadMessageIds(@Param("chatSessionIds") Collection<Long> chatSessionIds, @Param("userId") Long userId);
+    
+    // Read receipt: everything the reader has seen up to and including lastSeenId, in one statement
+    @Modifying
+    @Query("UPDATE ChatMessage cm SET cm.readStatus = true " +
+           "WHERE cm.chatSessionId = :chatSessionId AND cm.senderUserId <> :userId " +
+           "AND cm.id <= :lastSeenId AND cm.readStatus = false")
+    int markReadUpTo(@Param("chatSessionId") Long chatSessionId, @Param("userId") Long userId, @Param("lastSeenId") Long lastSeenId);
+}
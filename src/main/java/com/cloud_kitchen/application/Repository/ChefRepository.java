@@ -2,6 +2,9 @@ package com.cloud_kitchen.application.Repository;
 
 import com.cloud_kitchen.application.Entity.Chef;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +16,19 @@ public interface ChefRepository extends JpaRepository<Chef, Long> {
     List<Chef> findByVerified(Boolean verified);
     List<Chef> findBySpecialization(String specialization);
     List<Chef> findByRatingGreaterThanEqual(Double rating);
+
+    // Denormalized rating columns are written only through these statements
+    @Modifying
+    @Query("UPDATE Chef c SET c.rating = :rating, c.ratingCount = :ratingCount WHERE c.id = :chefId")
+    int updateRatingStats(@Param("chefId") Long chefId, @Param("rating") Double rating,
+                          @Param("ratingCount") Long ratingCount);
+
+    // Set-based recompute of every chef from the ratings table
+    @Modifying
+    @Query("UPDATE Chef c SET " +
+            "c.rating = COALESCE((SELECT AVG(r.rating) FROM Rating r WHERE r.chef.id = c.id), 0.0), " +
+            "c.ratingCount = (SELECT COUNT(r) FROM Rating r WHERE r.chef.id = c.id)")
+    int rebuildRatingStats();
+
+    long countByRatingCountIsNull();
 }
@@ -0,0 +1,19 @@
+package com.cloud_kitchen.application.Repository;
+
+import com.cloud_kitchen.application.Entity.InvoiceSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface InvoiceSequenceRepository extends JpaRepository<InvoiceSequence, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM InvoiceSequence s WHERE s.sequenceDay = :day")
+    Optional<InvoiceSequence> findForUpdate(@Param("day") String day);
+}
@@ -3,8 +3,12 @@ package com.cloud_kitchen.application.Repository;
 import com.cloud_kitchen.application.Entity.Chef;
 import com.cloud_kitchen.application.Entity.MenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,4 +19,23 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     List<MenuItem> findByVegetarian(Boolean vegetarian);
     List<MenuItem> findByNameContainingIgnoreCase(String name);
     List<MenuItem> findByPriceBetween(Double minPrice, Double maxPrice);
+
+    // Resolve a whole cart in one round trip, chef included
+    @Query("SELECT mi FROM MenuItem mi JOIN FETCH mi.chef WHERE mi.id IN :ids")
+    List<MenuItem> findAllByIdWithChef(@Param("ids") Collection<Long> ids);
+
+    // Denormalized rating columns are written only through these statements
+    @Modifying
+    @Query("UPDATE MenuItem mi SET mi.rating = :rating, mi.ratingCount = :ratingCount WHERE mi.id = :menuItemId")
+    int updateRatingStats(@Param("menuItemId") Long menuItemId, @Param("rating") Double rating,
+                          @Param("ratingCount") Long ratingCount);
+
+    // Set-based recompute of every menu item from the ratings table
+    @Modifying
+    @Query("UPDATE MenuItem mi SET " +
+            "mi.rating = COALESCE((SELECT AVG(r.rating) FROM Rating r WHERE r.menuItem.id = mi.id), 0.0), " +
+            "mi.ratingCount = (SELECT COUNT(r) FROM Rating r WHERE r.menuItem.id = mi.id)")
+    int rebuildRatingStats();
+
+    long countByRatingCountIsNull();
 }
@@ -3,13 +3,25 @@ package com.cloud_kitchen.application.Repository;
 import com.cloud_kitchen.application.Entity.MenuItem;
 import com.cloud_kitchen.application.Entity.Order;
 import com.cloud_kitchen.application.Entity.OrderItem;
+import com.cloud_kitchen.application.Entity.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrder(Order order);
     List<OrderItem> findByMenuItem(MenuItem menuItem);
+
+    @Query("SELECT DISTINCT oi.menuItem.id FROM OrderItem oi WHERE oi.order.id = :orderId")
+    List<Long> findMenuItemIdsByOrderId(@Param("orderId") Long orderId);
+
+    // (orderId, menuItemId) pairs grouped by order, read as a stream to rebuild co-occurrence counts
+    @Query("SELECT oi.order.id, oi.menuItem.id FROM OrderItem oi " +
+            "WHERE oi.order.status = :status ORDER BY oi.order.id")
+    Stream<Object[]> streamOrderMenuItemPairs(@Param("status") OrderStatus status);
 }
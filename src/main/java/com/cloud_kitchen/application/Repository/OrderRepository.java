@@ -3,12 +3,14 @@ package com.cloud_kitchen.application.Repository;
 import com.cloud_kitchen.application.Entity.Order;
 import com.cloud_kitchen.application.Entity.OrderStatus;
 import com.cloud_kitchen.application.Entity.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,4 +39,65 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
             "WHERE mi.chef.id = :chefId " +
             "ORDER BY o.createdAt DESC")
     List<Order> findOrdersByChefId(@Param("chefId") Long chefId);
+
+    // Keyset pagination: each page query returns only ids ordered by (createdAt, id) descending,
+    // strictly after the cursor; the page itself is then loaded with findPageWithItems.
+    @Query("SELECT o.id FROM Order o " +
+            "WHERE o.status IN :statuses " +
+            "AND o.createdAt >= :from AND o.createdAt < :to " +
+            "AND (o.createdAt < :cursorCreatedAt OR (o.createdAt = :cursorCreatedAt AND o.id < :cursorId)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findPageIds(@Param("statuses") Collection<OrderStatus> statuses,
+                           @Param("from") LocalDateTime from,
+                           @Param("to") LocalDateTime to,
+                           @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                           @Param("cursorId") Long cursorId,
+                           Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o " +
+            "WHERE o.student.id = :studentId " +
+            "AND o.status IN :statuses " +
+            "AND o.createdAt >= :from AND o.createdAt < :to " +
+            "AND (o.createdAt < :cursorCreatedAt OR (o.createdAt = :cursorCreatedAt AND o.id < :cursorId)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findStudentPageIds(@Param("studentId") Long studentId,
+                                  @Param("statuses") Collection<OrderStatus> statuses,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to,
+                                  @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                  @Param("cursorId") Long cursorId,
+                                  Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o " +
+            "WHERE EXISTS (SELECT 1 FROM OrderItem oi WHERE oi.order = o AND oi.menuItem.chef.id = :chefId) " +
+            "AND o.status IN :statuses " +
+            "AND o.createdAt >= :from AND o.createdAt < :to " +
+            "AND (o.createdAt < :cursorCreatedAt OR (o.createdAt = :cursorCreatedAt AND o.id < :cursorId)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findChefPageIds(@Param("chefId") Long chefId,
+                               @Param("statuses") Collection<OrderStatus> statuses,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to,
+                               @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                               @Param("cursorId") Long cursorId,
+                               Pageable pageable);
+
+    @Query("SELECT DISTINCT o FROM Order o " +
+            "JOIN FETCH o.student s " +
+            "LEFT JOIN FETCH o.orderItems oi " +
+            "LEFT JOIN FETCH oi.menuItem mi " +
+            "LEFT JOIN FETCH mi.chef c " +
+            "WHERE o.id IN :ids " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageWithItems(@Param("ids") Collection<Long> ids);
+
+    // Orders still in the kitchen, oldest first, to seed the kitchen board
+    @Query("SELECT DISTINCT o FROM Order o " +
+            "JOIN FETCH o.student s " +
+            "LEFT JOIN FETCH o.orderItems oi " +
+            "LEFT JOIN FETCH oi.menuItem mi " +
+            "LEFT JOIN FETCH mi.chef c " +
+            "WHERE o.status IN :statuses " +
+            "ORDER BY o.createdAt ASC, o.id ASC")
+    List<Order> findActiveWithItems(@Param("statuses") Collection<OrderStatus> statuses);
 }
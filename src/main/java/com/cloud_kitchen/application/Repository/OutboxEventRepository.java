@@ -0,0 +1,47 @@
+package com.cloud_kitchen.application.Repository;
+
+import com.cloud_kitchen.application.Entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Oldest due events first, served by the (status, next_attempt_at) index
+    @Query("SELECT e FROM OutboxEvent e " +
+           "WHERE e.status = :status AND e.nextAttemptAt <= :now " +
+           "ORDER BY e.id ASC")
+    List<OutboxEvent> findDue(@Param("status") OutboxEvent.Status status,
+                              @Param("now") LocalDateTime now,
+                              Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :done, e.processedAt = :now, e.attempts = e.attempts + 1 " +
+           "WHERE e.id IN :ids AND e.status = :pending")
+    int markDone(@Param("ids") Collection<Long> ids,
+                 @Param("pending") OutboxEvent.Status pending,
+                 @Param("done") OutboxEvent.Status done,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.attempts = :attempts, " +
+           "e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError " +
+           "WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id,
+                      @Param("status") OutboxEvent.Status status,
+                      @Param("attempts") Integer attempts,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("lastError") String lastError);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = :status AND e.processedAt < :before")
+    int deleteProcessedBefore(@Param("status") OutboxEvent.Status status, @Param("before") LocalDateTime before);
+}
@@ -1,7 +1,9 @@
 package com.cloud_kitchen.application.Repository;
 
+import com.cloud_kitchen.application.DTO.RatingResponse;
 import com.cloud_kitchen.application.Entity.MenuItem;
 import com.cloud_kitchen.application.Entity.Rating;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -25,6 +27,11 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     @Query("SELECT COUNT(r) FROM Rating r WHERE r.chef.id = :chefId")
     Long countRatingsByChefId(@Param("chefId") Long chefId);
 
+    // Latest-first feed page below a rating id, student name fetched in the same query
+    @Query("SELECT new com.cloud_kitchen.application.DTO.RatingResponse(r.id, r.rating, r.comment, s.name, r.createdAt) " +
+            "FROM Rating r JOIN r.student s WHERE r.chef.id = :chefId AND r.id < :beforeId ORDER BY r.id DESC")
+    List<RatingResponse> findChefFeed(@Param("chefId") Long chefId, @Param("beforeId") Long beforeId, Pageable pageable);
+
     // Menu item rating queries
     List<Rating> findByMenuItemIdOrderByCreatedAtDesc(Long menuItemId);
 
@@ -36,6 +43,10 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     @Query("SELECT COUNT(r) FROM Rating r WHERE r.menuItem.id = :menuItemId")
     Long countRatingsByMenuItemId(@Param("menuItemId") Long menuItemId);
 
+    @Query("SELECT new com.cloud_kitchen.application.DTO.RatingResponse(r.id, r.rating, r.comment, s.name, r.createdAt) " +
+            "FROM Rating r JOIN r.student s WHERE r.menuItem.id = :menuItemId AND r.id < :beforeId ORDER BY r.id DESC")
+    List<RatingResponse> findMenuItemFeed(@Param("menuItemId") Long menuItemId, @Param("beforeId") Long beforeId, Pageable pageable);
+
     // Common queries
     @Query("SELECT r.order.id FROM Rating r WHERE r.student.id = :studentId AND r.chef IS NOT NULL")
     List<Long> findRatedOrderIdsByStudentId(@Param("studentId") Long studentId);
@@ -43,6 +54,13 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     @Query("SELECT CONCAT(r.order.id, '-', r.menuItem.id) FROM Rating r WHERE r.student.id = :studentId AND r.menuItem IS NOT NULL")
     List<String> findRatedMenuItemsByStudentId(@Param("studentId") Long studentId);
 
+    // Star histograms for rebuilding rating summaries: [targetId, stars, count]
+    @Query("SELECT r.chef.id, r.rating, COUNT(r) FROM Rating r WHERE r.chef IS NOT NULL GROUP BY r.chef.id, r.rating")
+    List<Object[]> countChefRatingsByStars();
+
+    @Query("SELECT r.menuItem.id, r.rating, COUNT(r) FROM Rating r WHERE r.menuItem IS NOT NULL GROUP BY r.menuItem.id, r.rating")
+    List<Object[]> countMenuItemRatingsByStars();
+
     // Delete by MenuItem
     void deleteByMenuItem(MenuItem menuItem);
 }
@@ -0,0 +1,38 @@
+package com.cloud_kitchen.application.Repository;
+
+import com.cloud_kitchen.application.Entity.RatingSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RatingSummaryRepository extends JpaRepository<RatingSummary, Long> {
+
+    Optional<RatingSummary> findByTargetTypeAndTargetId(RatingSummary.TargetType targetType, Long targetId);
+
+    List<RatingSummary> findByTargetTypeAndTargetIdIn(RatingSummary.TargetType targetType, Collection<Long> targetIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM RatingSummary s WHERE s.targetType = :targetType AND s.targetId = :targetId")
+    Optional<RatingSummary> findForUpdate(@Param("targetType") RatingSummary.TargetType targetType,
+                                          @Param("targetId") Long targetId);
+
+    // Chef and menu item summaries for a page of menu items in one round trip
+    @Query("SELECT s FROM RatingSummary s " +
+            "WHERE (s.targetType = com.cloud_kitchen.application.Entity.RatingSummary.TargetType.CHEF AND s.targetId IN :chefIds) " +
+            "OR (s.targetType = com.cloud_kitchen.application.Entity.RatingSummary.TargetType.MENU_ITEM AND s.targetId IN :menuItemIds)")
+    List<RatingSummary> findForChefsAndMenuItems(@Param("chefIds") Collection<Long> chefIds,
+                                                 @Param("menuItemIds") Collection<Long> menuItemIds);
+
+    @Modifying
+    @Query("DELETE FROM RatingSummary s WHERE s.targetType = :targetType AND s.targetId = :targetId")
+    void deleteByTarget(@Param("targetType") RatingSummary.TargetType targetType, @Param("targetId") Long targetId);
+}
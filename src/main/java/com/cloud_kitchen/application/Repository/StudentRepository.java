@@ -2,8 +2,12 @@ package com.cloud_kitchen.application.Repository;
 
 import com.cloud_kitchen.application.Entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +18,11 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     Boolean existsByStudentId(String studentId);
     List<Student> findByCollege(String college);
     List<Student> findByHostelName(String hostelName);
+
+    // Detaches students from the given subscriptions in one statement
+    @Modifying
+    @Query("UPDATE Student st SET st.subscriptionStatus = :subscriptionStatus, st.subscriptionId = NULL " +
+            "WHERE st.subscriptionId IN :subscriptionIds")
+    int clearSubscription(@Param("subscriptionIds") Collection<Long> subscriptionIds,
+                          @Param("subscriptionStatus") String subscriptionStatus);
 }
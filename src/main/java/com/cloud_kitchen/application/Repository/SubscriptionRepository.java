@@ -2,9 +2,15 @@ package com.cloud_kitchen.application.Repository;
 
 import com.cloud_kitchen.application.Entity.Subscription;
 import com.cloud_kitchen.application.Entity.SubscriptionStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +24,22 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
     List<Subscription> findByStatus(SubscriptionStatus status);
     
     List<Subscription> findByStatusOrderByCreatedAtDesc(SubscriptionStatus status);
+
+    // [subscriptionId, discountPercentage, platformFeeWaived, endDate] without loading the student or plan entities
+    @Query("SELECT s.id, p.discountPercentage, p.platformFeeWaived, s.endDate FROM Subscription s JOIN s.plan p " +
+            "WHERE s.student.id = :studentId AND s.status = :status ORDER BY s.id DESC")
+    List<Object[]> findEntitlementRows(@Param("studentId") Long studentId, @Param("status") SubscriptionStatus status);
+
+    // [subscriptionId, studentId] of subscriptions whose end date has passed, oldest first; served by (status, end_date)
+    @Query("SELECT s.id, s.student.id FROM Subscription s " +
+            "WHERE s.status = :status AND s.endDate <= :now ORDER BY s.endDate, s.id")
+    List<Object[]> findDueForExpiry(@Param("status") SubscriptionStatus status, @Param("now") LocalDateTime now,
+                                    Pageable pageable);
+
+    // Guarded by the current status so a concurrent sweep or admin action is never overwritten
+    @Modifying
+    @Query("UPDATE Subscription s SET s.status = :newStatus, s.updatedAt = :now " +
+            "WHERE s.id IN :ids AND s.status = :currentStatus")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("currentStatus") SubscriptionStatus currentStatus,
+                          @Param("newStatus") SubscriptionStatus newStatus, @Param("now") LocalDateTime now);
 }
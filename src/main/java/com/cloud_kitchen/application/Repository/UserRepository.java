@@ -3,8 +3,11 @@ package com.cloud_kitchen.application.Repository;
 import com.cloud_kitchen.application.Entity.Role;
 import com.cloud_kitchen.application.Entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +18,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByPhoneNumber(String phoneNumber);
     List<User> findByRole(Role role);
     List<User> findByActive(Boolean active);
+
+    // Reads only the base users table, unlike findById which joins every subclass table
+    @Query("SELECT u.active FROM User u WHERE u.id = :id")
+    Optional<Boolean> findActiveById(@Param("id") Long id);
+
+    // [id, name] pairs for a set of users, again without the subclass joins
+    @Query("SELECT u.id, u.name FROM User u WHERE u.id IN :ids")
+    List<Object[]> findNamesByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,6 +1,7 @@
 package com.cloud_kitchen.application.Security;
 
 import com.cloud_kitchen.application.Service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,6 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -27,6 +29,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
 
+    // "claims" builds the principal from the token and a cached active flag, "database" loads the full user
+    @Value("${security.principal-resolution:claims}")
+    private String principalResolution;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -55,11 +61,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (StringUtils.hasText(jwt)) {
                 logger.debug("JWT token found, validating...");
 
-                if (tokenProvider.validateToken(jwt)) {
-                    Long userId = tokenProvider.getUserIdFromToken(jwt);
+                Claims claims = tokenProvider.parseValidClaims(jwt);
+                if (claims != null) {
+                    Long userId = Long.parseLong(claims.getSubject());
                     logger.debug("JWT token valid for userId: {}", userId);
 
-                    UserDetails userDetails = customUserDetailsService.loadUserById(userId);
+                    UserDetails userDetails = "database".equalsIgnoreCase(principalResolution)
+                            ? customUserDetailsService.loadUserById(userId)
+                            : customUserDetailsService.loadUserFromClaims(userId,
+                                    claims.get("email", String.class),
+                                    claims.get("name", String.class),
+                                    claims.get("role", String.class));
+
+                    if (!userDetails.isEnabled()) {
+                        logger.warn("Rejecting JWT for deactivated userId: {}", userId);
+                        filterChain.doFilter(request, response);
+                        return;
+                    }
 
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
@@ -23,10 +23,40 @@ public class JwtTokenProvider {
 
     private long jwtExpiration = 86400000;
 
+    // Key and parser are immutable and thread-safe, so they are built once instead of per call
+    private final SecretKey signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+
+    private final JwtParser jwtParser = Jwts.parser()
+            .verifyWith(signingKey)
+            .build();
+
 
     private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
+    }
+
+
+    /**
+     * Verifies the token and returns its claims in a single parse, or null if it is not valid.
+     * Use this on request paths instead of validateToken followed by a getXxxFromToken call.
+     */
+    public Claims parseValidClaims(String token) {
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            logger.debug("JWT token is valid");
+            return claims;
+        } catch (MalformedJwtException ex) {
+            logger.error("Invalid JWT token: {}", ex.getMessage());
+        } catch (ExpiredJwtException ex) {
+            logger.error("Expired JWT token: {}", ex.getMessage());
+        } catch (UnsupportedJwtException ex) {
+            logger.error("Unsupported JWT token: {}", ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            logger.error("JWT claims string is empty: {}", ex.getMessage());
+        } catch (Exception ex) {
+            logger.error("JWT validation error: {}", ex.getMessage(), ex);
+        }
+        return null;
     }
 
 
@@ -68,67 +98,27 @@ public class JwtTokenProvider {
 
 
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return Long.parseLong(claims.getSubject());
+        return Long.parseLong(getAllClaimsFromToken(token).getSubject());
     }
 
 
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.get("email", String.class);
+        return getAllClaimsFromToken(token).get("email", String.class);
     }
 
 
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.get("role", String.class);
+        return getAllClaimsFromToken(token).get("role", String.class);
     }
 
 
     public Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            logger.debug("JWT token is valid");
-            return true;
-        } catch (MalformedJwtException ex) {
-            logger.error("Invalid JWT token: {}", ex.getMessage());
-        } catch (ExpiredJwtException ex) {
-            logger.error("Expired JWT token: {}", ex.getMessage());
-        } catch (UnsupportedJwtException ex) {
-            logger.error("Unsupported JWT token: {}", ex.getMessage());
-        } catch (IllegalArgumentException ex) {
-            logger.error("JWT claims string is empty: {}", ex.getMessage());
-        } catch (Exception ex) {
-            logger.error("JWT validation error: {}", ex.getMessage(), ex);
-        }
-        return false;
+        return parseValidClaims(token) != null;
     }
 
 
@@ -0,0 +1,90 @@
+package com.cloud_kitchen.application.Security;
+
+import com.cloud_kitchen.application.Event.UserAccountChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded, time-limited cache of authenticated principals keyed by user id.
+ *
+ * Entries expire after the configured TTL and are evicted as soon as an account change commits
+ * on this node, so a deactivation is enforced on the next request.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrincipalCache.class);
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+
+    public PrincipalCache(@Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                          @Value("${security.principal-cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxSize = maxSize;
+    }
+
+    public UserPrincipal get(Long userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(userId, entry);
+            return null;
+        }
+        return entry.principal;
+    }
+
+    public void put(UserPrincipal principal) {
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+        entries.put(principal.getId(), new Entry(principal, System.nanoTime() + ttlNanos));
+    }
+
+    public void evict(Long userId) {
+        entries.remove(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        evict(event.getUserId());
+        logger.debug("Evicted cached principal: {}", event);
+    }
+
+    private void makeRoom() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+
+        // Still full: drop arbitrary entries, they are reloaded on the next request
+        Iterator<Long> keys = entries.keySet().iterator();
+        while (entries.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final UserPrincipal principal;
+        private final long expiresAt;
+
+        private Entry(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.cloud_kitchen.application.Security;
 
 import com.cloud_kitchen.application.Service.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -95,6 +96,9 @@ public class SecurityConfig {
                         // Preflight
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 
+                        // Completion of streamed (SSE) responses; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // ===== PUBLIC (NO TOKEN) =====
                         .requestMatchers(
                                 "/auth/login",
@@ -0,0 +1,160 @@
+package com.cloud_kitchen.application.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded TTL cache of parsed AI suggestion results.
+ *
+ * Keys hash the menu catalog version, the endpoint and its normalized parameters, so any menu change
+ * naturally misses. Concurrent identical requests share one in-flight load (single flight): only the
+ * first caller reaches Gemini and the others wait for its result. Only results with success=true are
+ * cached; error responses and failed loads are handed to the callers already waiting and then dropped.
+ */
+@Component
+public class AiResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AiResponseCache.class);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final long ttlNanos;
+    private final int maxSize;
+
+    public AiResponseCache(ObjectMapper objectMapper,
+                           @Value("${ai.cache.ttl-seconds:600}") long ttlSeconds,
+                           @Value("${ai.cache.max-size:500}") int maxSize) {
+        this.objectMapper = objectMapper;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxSize = maxSize;
+    }
+
+    public Map<String, Object> get(long menuVersion, String endpoint, Object params,
+                                   Callable<Map<String, Object>> loader) throws Exception {
+        String key = key(menuVersion, endpoint, params);
+        while (true) {
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                if (existing.isExpired(System.nanoTime())) {
+                    entries.remove(key, existing);
+                    continue;
+                }
+                return await(existing.result);
+            }
+
+            Entry mine = new Entry();
+            if (entries.putIfAbsent(key, mine) != null) {
+                continue;
+            }
+            makeRoom();
+
+            try {
+                Map<String, Object> value = loader.call();
+                if (isSuccess(value)) {
+                    mine.expiresAt = System.nanoTime() + ttlNanos;
+                } else {
+                    // The parse methods report a bad Gemini reply as an error map; the next call retries
+                    entries.remove(key, mine);
+                }
+                mine.result.complete(value);
+                return value;
+            } catch (Exception e) {
+                entries.remove(key, mine);
+                mine.result.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private static boolean isSuccess(Map<String, Object> value) {
+        return value != null && Boolean.TRUE.equals(value.get("success"));
+    }
+
+    private Map<String, Object> await(CompletableFuture<Map<String, Object>> result) throws Exception {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void makeRoom() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        // Still over the bound: drop completed entries until it fits, never in-flight ones
+        entries.entrySet().removeIf(e -> entries.size() > maxSize && e.getValue().result.isDone());
+        log.debug("AI response cache trimmed to {} entries", entries.size());
+    }
+
+    private String key(long menuVersion, String endpoint, Object params) throws Exception {
+        String raw = menuVersion + "|" + endpoint + "|" + objectMapper.writeValueAsString(normalize(params));
+        return HexFormat.of().formatHex(sha256(raw));
+    }
+
+    /**
+     * Sorts map keys and trims/lower-cases strings so equivalent requests share a key
+     */
+    private Object normalize(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> sorted = new TreeMap<>();
+            map.forEach((k, v) -> sorted.put(String.valueOf(k).trim().toLowerCase(Locale.ROOT), normalize(v)));
+            return sorted;
+        }
+        if (value instanceof Collection<?> collection) {
+            List<Object> normalized = new ArrayList<>();
+            collection.forEach(item -> normalized.add(normalize(item)));
+            return normalized;
+        }
+        if (value instanceof String s) {
+            return s.trim().toLowerCase(Locale.ROOT);
+        }
+        return value;
+    }
+
+    private static byte[] sha256(String raw) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+        // Set once the load completes; in-flight entries never expire
+        private volatile long expiresAt;
+
+        private boolean isExpired(long now) {
+            return result.isDone() && now - expiresAt >= 0;
+        }
+    }
+}
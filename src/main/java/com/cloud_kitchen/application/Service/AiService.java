@@ -8,14 +8,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,15 +22,10 @@ public class AiService {
 
     private static final Logger log = LoggerFactory.getLogger(AiService.class);
 
-    @Value("${gemini.api.key}")
-    private String geminiApiKey;
-
-    @Value("${gemini.api.url}")
-    private String geminiApiUrl;
-
     private final MenuItemRepository menuItemRepository;
     private final MenuItemService menuItemService;
-    private final RestTemplate restTemplate;
+    private final GeminiClient geminiClient;
+    private final AiResponseCache aiResponseCache;
     private final ObjectMapper objectMapper;
 
     /**
@@ -45,30 +35,21 @@ public class AiService {
      */
     public Map<String, Object> suggestMenuCombinations(Integer itemCount) {
         try {
-            // Fetch all available menu items
-            List<MenuItem> availableItems = menuItemRepository.findByAvailable(true);
+            // Available items and the catalog version they belong to, from one snapshot
+            MenuCatalog catalog = menuItemService.getCatalog();
+            List<MenuItemResponse> itemResponses = new ArrayList<>(catalog.getAvailableItems());
 
-            if (availableItems.isEmpty()) {
+            if (itemResponses.isEmpty()) {
                 return createErrorResponse("No available menu items found");
             }
 
-            // Convert to response format for better readability
-            List<MenuItemResponse> itemResponses = availableItems.stream()
-                    .map(menuItemService::convertToResponse)
-                    .collect(Collectors.toList());
-
-            // Prepare menu data for Gemini
-            String menuData = formatMenuDataForGemini(itemResponses);
-
-            // Create prompt for Gemini
-            String prompt = createCombinationPrompt(menuData, itemCount);
-
             try {
-                // Call Gemini API
-                String geminiResponse = callGeminiApi(prompt);
-
-                // Parse and return the response
-                return parseCombinationResponse(geminiResponse);
+                // Identical requests over the same menu reuse one Gemini answer
+                return aiResponseCache.get(catalog.getVersion(), "combinations", itemCount, () -> {
+                    String menuData = formatMenuDataForGemini(catalog.getAvailableDigest());
+                    String prompt = createCombinationPrompt(menuData, itemCount);
+                    return parseCombinationResponse(callGeminiApi(prompt));
+                });
             } catch (Exception apiException) {
                 log.warn("Gemini API failed for combinations, using fallback: {}", apiException.getMessage());
                 // Fallback: return random menu item combinations
@@ -123,27 +104,26 @@ public class AiService {
      */
     public Map<String, Object> suggestPairings(Long menuItemId) {
         try {
-            MenuItem mainItem = menuItemRepository.findById(menuItemId)
-                    .orElseThrow(() -> new RuntimeException("Menu item not found"));
-
-            List<MenuItem> availableItems = menuItemRepository.findByAvailable(true);
+            MenuCatalog catalog = menuItemService.getCatalog();
+            MenuItemResponse mainItemResponse = catalog.getItem(menuItemId);
+            if (mainItemResponse == null) {
+                throw new RuntimeException("Menu item not found");
+            }
 
-            if (availableItems.isEmpty()) {
+            if (catalog.getAvailableItems().isEmpty()) {
                 return createErrorResponse("No available menu items found");
             }
 
-            MenuItemResponse mainItemResponse = menuItemService.convertToResponse(mainItem);
-            List<MenuItemResponse> otherItems = availableItems.stream()
-                    .filter(item -> !item.getId().equals(menuItemId))
-                    .map(menuItemService::convertToResponse)
-                    .collect(Collectors.toList());
-
-            String menuData = formatMenuDataForGemini(otherItems);
-            String prompt = createPairingPrompt(mainItemResponse, menuData);
+            return aiResponseCache.get(catalog.getVersion(), "pairings", menuItemId, () -> {
+                List<MenuItemResponse> otherItems = catalog.getAvailableItems().stream()
+                        .filter(item -> !item.getId().equals(menuItemId))
+                        .collect(Collectors.toList());
 
-            String geminiResponse = callGeminiApi(prompt);
+                String menuData = formatMenuDataForGemini(catalog.digest(otherItems));
+                String prompt = createPairingPrompt(mainItemResponse, menuData);
 
-            return parsePairingResponse(geminiResponse, mainItemResponse);
+                return parsePairingResponse(callGeminiApi(prompt), mainItemResponse);
+            });
 
         } catch (Exception e) {
             log.error("Error suggesting pairings: ", e);
@@ -158,22 +138,19 @@ public class AiService {
      */
     public Map<String, Object> getMealRecommendations(Map<String, Object> preferences) {
         try {
-            List<MenuItem> availableItems = menuItemRepository.findByAvailable(true);
+            MenuCatalog catalog = menuItemService.getCatalog();
+            List<MenuItemResponse> itemResponses = new ArrayList<>(catalog.getAvailableItems());
 
-            if (availableItems.isEmpty()) {
+            if (itemResponses.isEmpty()) {
                 return createErrorResponse("No available menu items found");
             }
 
-            List<MenuItemResponse> itemResponses = availableItems.stream()
-                    .map(menuItemService::convertToResponse)
-                    .collect(Collectors.toList());
-
-            String menuData = formatMenuDataForGemini(itemResponses);
-            String prompt = createRecommendationPrompt(menuData, preferences);
-
             try {
-                String geminiResponse = callGeminiApi(prompt);
-                return parseRecommendationResponse(geminiResponse);
+                return aiResponseCache.get(catalog.getVersion(), "recommendations", preferences, () -> {
+                    String menuData = formatMenuDataForGemini(catalog.getAvailableDigest());
+                    String prompt = createRecommendationPrompt(menuData, preferences);
+                    return parseRecommendationResponse(callGeminiApi(prompt));
+                });
             } catch (Exception apiException) {
                 log.warn("Gemini API failed, using fallback recommendations: {}", apiException.getMessage());
                 // Fallback: return random menu items as recommendations
@@ -225,58 +202,22 @@ public class AiService {
      * Call Gemini API with the given prompt
      */
     private String callGeminiApi(String prompt) throws Exception {
-        String urlWithKey = geminiApiUrl + "?key=" + geminiApiKey;
-        
-        log.info("Calling Gemini API with URL: {}", urlWithKey.replaceAll("key=.*", "key=***"));
         log.debug("Prompt: {}", prompt);
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        Map<String, Object> requestBody = new HashMap<>();
-        Map<String, Object> content = new HashMap<>();
-        Map<String, String> part = new HashMap<>();
-
-        part.put("text", prompt);
-        content.put("parts", new Map[]{part});
-        requestBody.put("contents", new Map[]{content});
-
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-        ResponseEntity<String> response = restTemplate.postForEntity(urlWithKey, entity, String.class);
-        
-        log.info("Gemini API response status: {}", response.getStatusCode());
-        log.debug("Gemini API response body: {}", response.getBody());
-
-        if (!response.getStatusCode().is2xxSuccessful()) {
-            log.error("Gemini API call failed with status: {} and body: {}", response.getStatusCode(), response.getBody());
-            throw new RuntimeException("Gemini API call failed with status: " + response.getStatusCode());
-        }
-
-        return response.getBody();
+        // Timeouts, concurrency limit and circuit breaker live in GeminiClient; any failure
+        // here sends the caller to its fallback
+        String body = geminiClient.generateContent(prompt);
+        log.debug("Gemini API response body: {}", body);
+        return body;
     }
 
     /**
-     * Format menu items for Gemini prompt
+     * Format menu items for Gemini prompt from a catalog digest; the full menu uses the
+     * catalog's prebuilt available digest, so only subsets are assembled per call
      */
-    private String formatMenuDataForGemini(List<MenuItemResponse> items) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Available Menu Items:\n");
-        sb.append("====================\n");
-
-        for (MenuItemResponse item : items) {
-            sb.append(String.format("- %s (ID: %d)\n", item.getName(), item.getId()));
-            sb.append(String.format("  Price: ₹%.2f\n", item.getPrice()));
-            sb.append(String.format("  Category: %s\n", item.getCategory()));
-            sb.append(String.format("  Vegetarian: %s\n", item.getVegetarian() ? "Yes" : "No"));
-            if (item.getDescription() != null && !item.getDescription().isEmpty()) {
-                sb.append(String.format("  Description: %s\n", item.getDescription()));
-            }
-            sb.append(String.format("  Chef: %s (Rating: %.1f/5)\n", item.getChefName(), item.getChefAverageRating()));
-            sb.append("\n");
-        }
-
-        return sb.toString();
+    private String formatMenuDataForGemini(String menuDigest) {
+        return "Available Menu Items (one per line: " + MenuCatalog.DIGEST_COLUMNS + "):\n"
+                + menuDigest;
     }
 
     /**
@@ -0,0 +1,48 @@
+package com.cloud_kitchen.application.Service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable view of everything needed to accept a chat message for an order: the chat session id,
+ * whether it is active, and the participants (student and chefs) with their display names.
+ * Cached by ChatService while the chat session is active.
+ */
+public final class ChatContext {
+
+    private final Long orderId;
+    private final Long chatSessionId;
+    private final boolean active;
+    private final Long studentId;
+    private final Map<Long, String> participantNames;
+
+    public ChatContext(Long orderId, Long chatSessionId, boolean active, Long studentId,
+                       Map<Long, String> participantNames) {
+        this.orderId = orderId;
+        this.chatSessionId = chatSessionId;
+        this.active = active;
+        this.studentId = studentId;
+        this.participantNames = Collections.unmodifiableMap(participantNames);
+    }
+
+    public Long getOrderId() { return orderId; }
+
+    public Long getChatSessionId() { return chatSessionId; }
+
+    public boolean isActive() { return active; }
+
+    public Long getStudentId() { return studentId; }
+
+    public boolean isParticipant(Long userId) {
+        return participantNames.containsKey(userId);
+    }
+
+    public Set<Long> getParticipantIds() {
+        return participantNames.keySet();
+    }
+
+    public String getParticipantName(Long userId) {
+        return participantNames.get(userId);
+    }
+}
@@ -1,20 +1,38 @@
 package com.cloud_kitchen.application.Service;
 
+import com.cloud_kitchen.application.DTO.ActiveChatSessionResponse;
 import com.cloud_kitchen.application.DTO.ChatMessageDto;
 import com.cloud_kitchen.application.Entity.*;
+import com.cloud_kitchen.application.Event.ChatMessageSentEvent;
+import com.cloud_kitchen.application.Event.ChatSessionChangedEvent;
 import com.cloud_kitchen.application.Repository.ChatMessageRepository;
 import com.cloud_kitchen.application.Repository.ChatSessionRepository;
 import com.cloud_kitchen.application.Repository.OrderRepository;
 import com.cloud_kitchen.application.Repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -23,12 +41,24 @@ import java.util.stream.Collectors;
 public class ChatService {
     
     private static final ZoneId IST_ZONE = ZoneId.of("Asia/Kolkata");
+    private static final int MAX_CACHED_CONTEXTS = 10000;
+    private static final long CONTEXT_TTL_NANOS = TimeUnit.MINUTES.toNanos(30);
+    private static final int CONTEXT_GENERATION_STRIPES = 1024;
+    private static final int DEFAULT_MESSAGE_PAGE_SIZE = 50;
+    private static final int MAX_MESSAGE_PAGE_SIZE = 200;
     
     private final ChatSessionRepository chatSessionRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final AuthService authService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChatUnreadTracker chatUnreadTracker;
+    
+    // Contexts of active chats by order id, dropped whenever the chat session changes
+    private final Map<Long, CachedContext> chatContexts = new ConcurrentHashMap<>();
+    // Bumped on every invalidation, striped by order id; a load only caches if its stripe did not move
+    private final AtomicLongArray contextGenerations = new AtomicLongArray(CONTEXT_GENERATION_STRIPES);
     
     /**
      * Creates a chat session for an order when it reaches CONFIRMED status
@@ -46,6 +76,7 @@ public class ChatService {
                 log.info("Reactivating existing chat session for order {}", order.getId());
                 session.setStatus(ChatSession.ChatStatus.ACTIVE);
                 chatSessionRepository.save(session);
+                invalidateChatContext(order.getId(), "reactivated");
             } else {
                 log.info("Chat session already exists and is active for order {}", order.getId());
             }
@@ -59,14 +90,14 @@ public class ChatService {
         session.setOrderId(order.getId());
         session.setCreatedByStudentId(order.getStudent().getId());
         
-        // Load the order with its items to avoid lazy loading issues
-        Order fullOrder = orderRepository.findById(order.getId())
-            .orElseThrow(() -> new RuntimeException("Order not found: " + order.getId()));
+        // Use the order's items when the caller already fetched them, otherwise load them with the order
+        Order fullOrder = Hibernate.isInitialized(order.getOrderItems()) ? order
+                : orderRepository.findByIdWithItems(order.getId())
+                        .orElseThrow(() -> new RuntimeException("Order not found: " + order.getId()));
         
         // Get the chef ID from the first order item (in case of multi-chef orders, 
         // we'll create separate chat sessions for each chef, but for simplicity we'll use the first chef)
         if (!fullOrder.getOrderItems().isEmpty()) {
-            log.info("Order items size: {}", fullOrder.getOrderItems().size());
             Long chefId = fullOrder.getOrderItems().get(0).getMenuItem().getChef().getId();
             log.info("Chef ID found: {}", chefId);
             session.setAssignedChefId(chefId);
@@ -80,28 +111,44 @@ public class ChatService {
         
         ChatSession savedSession = chatSessionRepository.save(session);
         log.info("Chat session created with ID: {}", savedSession.getId());
-        
-        // Verify the session was saved properly
-        Optional<ChatSession> verification = chatSessionRepository.findById(savedSession.getId());
-        if (verification.isPresent() && verification.get().getStatus() == ChatSession.ChatStatus.ACTIVE) {
-            log.info("Chat session verification successful for order {}", order.getId());
-        } else {
-            log.error("Chat session verification failed for order {}", order.getId());
-        }
+        invalidateChatContext(order.getId(), "created");
     }
     
     /**
-     * Disables a chat session when order reaches DELIVERED status
+     * Disables a chat session when order reaches DELIVERED status.
+     * A session that is already closed keeps its original end time.
      */
     @Transactional
     public void disableChatForOrder(Long orderId) {
         Optional<ChatSession> sessionOpt = chatSessionRepository.findByOrderId(orderId);
-        if (sessionOpt.isPresent()) {
+        if (sessionOpt.isPresent() && sessionOpt.get().getStatus() == ChatSession.ChatStatus.ACTIVE) {
             ChatSession session = sessionOpt.get();
             session.setStatus(ChatSession.ChatStatus.INACTIVE);
             session.setEndedAt(LocalDateTime.now(IST_ZONE));
             chatSessionRepository.save(session);
         }
+        invalidateChatContext(orderId, "disabled");
+    }
+    
+    /**
+     * Brings the order's chat session in line with the order's current status: open while the order is
+     * CONFIRMED, PREPARING or READY, closed once it is DELIVERED or CANCELLED. Runs from the outbox,
+     * possibly more than once and after later status changes, so it reads the status instead of
+     * replaying the transition that enqueued it.
+     */
+    @Transactional
+    public void syncChatWithOrderStatus(Long orderId) {
+        Optional<Order> orderOpt = orderRepository.findByIdWithItems(orderId);
+        if (orderOpt.isEmpty()) {
+            log.warn("Order {} no longer exists, nothing to sync", orderId);
+            return;
+        }
+        Order order = orderOpt.get();
+        switch (order.getStatus()) {
+            case CONFIRMED, PREPARING, READY -> enableChatForOrder(order);
+            case DELIVERED, CANCELLED -> disableChatForOrder(orderId);
+            default -> log.debug("Order {} is {}, chat unchanged", orderId, order.getStatus());
+        }
     }
     
     /**
@@ -110,6 +157,11 @@ public class ChatService {
     public boolean isChatEnabledForOrder(Long orderId) {
         log.info("isChatEnabledForOrder called for order ID: {}", orderId);
         
+        // Only active chats are cached, so a hit answers without touching the database
+        if (getCachedContext(orderId) != null) {
+            return true;
+        }
+        
         // Check if there's an active chat session
         Optional<ChatSession> session = chatSessionRepository.findActiveChatSessionByOrderId(orderId);
         
@@ -151,6 +203,7 @@ public class ChatService {
                 log.info("Reactivating existing chat session for order {}", orderId);
                 existingChatSession.setStatus(ChatSession.ChatStatus.ACTIVE);
                 chatSessionRepository.save(existingChatSession);
+                invalidateChatContext(orderId, "reactivated");
             }
             return true;
         } else {
@@ -172,46 +225,28 @@ public class ChatService {
     public ChatMessageDto sendMessage(Long orderId, Long userId, String message) {
         log.info("sendMessage called - orderId: {}, userId: {}, message: {}", orderId, userId, message);
         
-        // Get the user
-        User sender = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        // Get the order with items eagerly loaded to avoid lazy loading issues
-        Order order = orderRepository.findByIdWithItems(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
-        
-        log.info("Order loaded with {} items", order.getOrderItems().size());
-        
-        // Check if chat is enabled for this order
-        if (!isChatEnabledForOrder(orderId)) {
-            throw new RuntimeException("Chat is not enabled for this order");
+        // Participants, session id and active flag come from the cached chat context,
+        // so a message for an active chat costs a single INSERT
+        ChatContext context = getChatContext(orderId);
+        if (!context.isActive()) {
+            // Same checks as before: may create or reactivate the session for an eligible order
+            if (!isChatEnabledForOrder(orderId)) {
+                throw new RuntimeException("Chat is not enabled for this order");
+            }
+            context = loadChatContext(orderId);
         }
         
         // Verify that the user is either the student who placed the order or the assigned chef
-        boolean isAuthorized = order.getStudent().getId().equals(userId);
-        log.info("Is student: {}", isAuthorized);
-        
-        if (!isAuthorized) {
-            // Check if the user is the chef assigned to this order
-            isAuthorized = order.getOrderItems().stream()
-                    .anyMatch(item -> item.getMenuItem().getChef().getId().equals(userId));
-            log.info("Is chef: {}", isAuthorized);
-        }
-        
-        if (!isAuthorized) {
+        if (!context.isParticipant(userId)) {
             log.error("User {} not authorized for order {}", userId, orderId);
             throw new RuntimeException("Unauthorized to send message for this order");
         }
         
-        // Get the chat session
-        ChatSession session = chatSessionRepository.findByOrderId(orderId)
-                .orElseThrow(() -> new RuntimeException("Chat session not found for order"));
-        
-        log.info("Creating chat message for session: {}", session.getId());
+        log.info("Creating chat message for session: {}", context.getChatSessionId());
         
         // Create and save the message with explicit IST timestamp
         ChatMessage chatMessage = new ChatMessage();
-        chatMessage.setChatSessionId(session.getId());
+        chatMessage.setChatSessionId(context.getChatSessionId());
         chatMessage.setSenderUserId(userId);
         chatMessage.setMessage(message);
         chatMessage.setMessageType(ChatMessage.MessageType.TEXT);
@@ -220,10 +255,13 @@ public class ChatService {
         ChatMessage savedMessage = chatMessageRepository.save(chatMessage);
         log.info("Message saved with ID: {}", savedMessage.getId());
         
-        // Get sender name
-        String senderName = sender.getName();
+        // Every other participant now has one more unread message, counted after commit
+        Set<Long> recipients = new HashSet<>(context.getParticipantIds());
+        recipients.remove(userId);
+        eventPublisher.publishEvent(new ChatMessageSentEvent(
+                context.getChatSessionId(), savedMessage.getId(), userId, recipients));
         
-        ChatMessageDto dto = ChatMessageDto.fromEntity(savedMessage, senderName);
+        ChatMessageDto dto = ChatMessageDto.fromEntity(savedMessage, context.getParticipantName(userId));
         log.info("Returning ChatMessageDto: {}", dto);
         
         return dto;
@@ -246,38 +284,63 @@ public class ChatService {
      */
     @Transactional(readOnly = true)
     public List<ChatMessageDto> getChatMessages(Long orderId) {
-        // Verify that the current user is authorized to view messages
+        return getChatMessages(orderId, null, null);
+    }
+    
+    /**
+     * Gets messages for a chat session in chronological order. With a limit or a before cursor
+     * (a message id) only the latest {@code limit} messages older than the cursor are returned;
+     * pass the first returned id as the next cursor to page further back.
+     */
+    @Transactional(readOnly = true)
+    public List<ChatMessageDto> getChatMessages(Long orderId, Long beforeId, Integer limit) {
+        // Verify that the current user is either the student who placed the order or the assigned chef
         User currentUser = authService.getCurrentUser();
-        
-        // Get the order
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
-        
-        // Verify that the user is either the student who placed the order or the assigned chef
-        boolean isAuthorized = order.getStudent().getId().equals(currentUser.getId());
-        if (!isAuthorized) {
-            // Check if the user is the chef assigned to this order
-            isAuthorized = order.getOrderItems().stream()
-                    .anyMatch(item -> item.getMenuItem().getChef().getId().equals(currentUser.getId()));
-        }
-        
-        if (!isAuthorized) {
+        ChatContext context = getChatContext(orderId);
+        if (!context.isParticipant(currentUser.getId())) {
             throw new RuntimeException("Unauthorized to view messages for this order");
         }
         
-        // Get the chat session
-        ChatSession session = chatSessionRepository.findByOrderId(orderId)
-                .orElseThrow(() -> new RuntimeException("Chat session not found for order"));
+        if (context.getChatSessionId() == null) {
+            throw new RuntimeException("Chat session not found for order");
+        }
         
-        // Get all messages for this session
-        List<ChatMessage> messages = chatMessageRepository.findByChatSessionIdOrderBySentAtAsc(session.getId());
+        List<ChatMessage> messages;
+        if (beforeId == null && limit == null) {
+            messages = chatMessageRepository.findByChatSessionIdOrderBySentAtAsc(context.getChatSessionId());
+        } else {
+            int pageSize = limit == null ? DEFAULT_MESSAGE_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_MESSAGE_PAGE_SIZE));
+            PageRequest page = PageRequest.of(0, pageSize);
+            messages = new ArrayList<>(beforeId == null
+                    ? chatMessageRepository.findLatest(context.getChatSessionId(), page)
+                    : chatMessageRepository.findLatestBefore(context.getChatSessionId(), beforeId, page));
+            Collections.reverse(messages);
+        }
         
-        // Convert to DTOs with sender names
-        return messages.stream().map(msg -> {
-            User sender = userRepository.findById(msg.getSenderUserId())
-                    .orElseThrow(() -> new RuntimeException("Sender not found"));
-            return ChatMessageDto.fromEntity(msg, sender.getName());
-        }).collect(Collectors.toList());
+        // Participants' names come from the chat context; anyone else is resolved in one batch query
+        Map<Long, String> senderNames = resolveSenderNames(context, messages);
+        return messages.stream()
+                .map(msg -> ChatMessageDto.fromEntity(msg, senderNames.get(msg.getSenderUserId())))
+                .collect(Collectors.toList());
+    }
+    
+    private Map<Long, String> resolveSenderNames(ChatContext context, List<ChatMessage> messages) {
+        Map<Long, String> names = new HashMap<>();
+        Set<Long> unknown = new HashSet<>();
+        for (ChatMessage msg : messages) {
+            Long senderId = msg.getSenderUserId();
+            if (context.isParticipant(senderId)) {
+                names.put(senderId, context.getParticipantName(senderId));
+            } else {
+                unknown.add(senderId);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            for (Object[] row : userRepository.findNamesByIdIn(unknown)) {
+                names.put((Long) row[0], (String) row[1]);
+            }
+        }
+        return names;
     }
     
     /**
@@ -297,21 +360,175 @@ public class ChatService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Gets active chat sessions for the current user with the user's unread message count in each.
+     * Counts come from ChatUnreadTracker, not from a COUNT query per session.
+     */
+    public List<ActiveChatSessionResponse> getActiveChatSessionsWithUnreadCounts() {
+        User currentUser = authService.getCurrentUser();
+        
+        List<ChatSession> sessions = chatSessionRepository.findByCreatedByStudentIdOrAssignedChefId(
+                currentUser.getId(), currentUser.getId()).stream()
+                .filter(session -> session.getStatus() == ChatSession.ChatStatus.ACTIVE)
+                .collect(Collectors.toList());
+        if (sessions.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, Integer> unreadCounts = chatUnreadTracker.getUnreadCounts(
+                sessions.stream().map(ChatSession::getId).collect(Collectors.toList()), currentUser.getId());
+        return sessions.stream()
+                .map(session -> ActiveChatSessionResponse.fromEntity(session,
+                        unreadCounts.getOrDefault(session.getId(), 0)))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Records a read receipt: the user has seen every message of the order's chat up to lastSeenMessageId.
+     * Returns the chat session id the receipt applies to.
+     */
+    public Long markMessagesRead(Long orderId, Long userId, Long lastSeenMessageId) {
+        if (lastSeenMessageId == null) {
+            throw new RuntimeException("lastSeenMessageId is required");
+        }
+        ChatContext context = getChatContext(orderId);
+        if (!context.isParticipant(userId)) {
+            throw new RuntimeException("Unauthorized to read messages for this order");
+        }
+        if (context.getChatSessionId() == null) {
+            throw new RuntimeException("Chat session not found for this order");
+        }
+        chatUnreadTracker.markRead(context.getChatSessionId(), userId, lastSeenMessageId);
+        return context.getChatSessionId();
+    }
+    
     /**
      * Checks if a user is authorized to participate in a chat for an order
      */
     public boolean isUserAuthorizedForChat(Long orderId, Long userId) {
-        // Get the order with items eagerly loaded
+        // The student who placed the order or a chef with items in it
+        return getChatContext(orderId).isParticipant(userId);
+    }
+    
+    /**
+     * Returns the chat context for an order, from the cache when its chat is active
+     */
+    public ChatContext getChatContext(Long orderId) {
+        ChatContext cached = getCachedContext(orderId);
+        return cached != null ? cached : loadChatContext(orderId);
+    }
+    
+    private ChatContext getCachedContext(Long orderId) {
+        CachedContext cached = chatContexts.get(orderId);
+        if (cached == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (cached.isExpired(now)) {
+            chatContexts.remove(orderId, cached);
+            return null;
+        }
+        cached.lastAccess = now;
+        return cached.context;
+    }
+    
+    private ChatContext loadChatContext(Long orderId) {
+        // Taken before reading, so an invalidation committing while this load runs is noticed
+        long generation = contextGenerations.get(generationStripe(orderId));
+        
+        // Get the order with student, items and chefs in one query
         Order order = orderRepository.findByIdWithItems(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
+        Optional<ChatSession> session = chatSessionRepository.findByOrderId(orderId);
         
-        // Check if user is the student who placed the order
-        if (order.getStudent().getId().equals(userId)) {
-            return true;
+        Map<Long, String> participants = new LinkedHashMap<>();
+        participants.put(order.getStudent().getId(), order.getStudent().getName());
+        order.getOrderItems().forEach(item ->
+                participants.putIfAbsent(item.getMenuItem().getChef().getId(), item.getMenuItem().getChef().getName()));
+        
+        boolean active = session.isPresent() && session.get().getStatus() == ChatSession.ChatStatus.ACTIVE;
+        ChatContext context = new ChatContext(orderId, session.map(ChatSession::getId).orElse(null),
+                active, order.getStudent().getId(), participants);
+        
+        if (active) {
+            if (chatContexts.size() >= MAX_CACHED_CONTEXTS) {
+                makeRoomForContext();
+            }
+            cacheContext(orderId, context, generation);
+        }
+        return context;
+    }
+    
+    /**
+     * Caches a loaded context unless the order was invalidated since its load began. The check runs
+     * again after the put, because evict bumps before it removes: an invalidation that slipped in
+     * between the first check and the put is caught by the second one.
+     */
+    private void cacheContext(Long orderId, ChatContext context, long generation) {
+        int stripe = generationStripe(orderId);
+        if (contextGenerations.get(stripe) != generation) {
+            return;
+        }
+        CachedContext cached = new CachedContext(context, System.nanoTime());
+        chatContexts.put(orderId, cached);
+        if (contextGenerations.get(stripe) != generation) {
+            chatContexts.remove(orderId, cached);
+        }
+    }
+    
+    /**
+     * Drops the cached context now and again after commit. Both steps bump the order's generation,
+     * so a reader that loaded the session before this transaction committed never caches it.
+     */
+    private void invalidateChatContext(Long orderId, String reason) {
+        evictChatContext(orderId);
+        eventPublisher.publishEvent(new ChatSessionChangedEvent(orderId, reason));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChatSessionChanged(ChatSessionChangedEvent event) {
+        evictChatContext(event.getOrderId());
+        log.debug("Chat context evicted: {}", event);
+    }
+    
+    private void evictChatContext(Long orderId) {
+        contextGenerations.incrementAndGet(generationStripe(orderId));
+        chatContexts.remove(orderId);
+    }
+    
+    private static int generationStripe(Long orderId) {
+        return Math.floorMod(Long.hashCode(orderId), CONTEXT_GENERATION_STRIPES);
+    }
+    
+    /**
+     * Chats normally end through disableChatForOrder; this only guards against leaks. Expired
+     * contexts go first, then the least recently used one, so busy chats stay cached.
+     */
+    private void makeRoomForContext() {
+        long now = System.nanoTime();
+        chatContexts.values().removeIf(cached -> cached.isExpired(now));
+        if (chatContexts.size() < MAX_CACHED_CONTEXTS) {
+            return;
+        }
+        chatContexts.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                .ifPresent(eldest -> chatContexts.remove(eldest.getKey(), eldest.getValue()));
+    }
+    
+    private static final class CachedContext {
+        private final ChatContext context;
+        private final long expiresAt;
+        // Set on every hit without locking; a lost update only changes which context is evicted
+        private volatile long lastAccess;
+        
+        private CachedContext(ChatContext context, long now) {
+            this.context = context;
+            this.expiresAt = now + CONTEXT_TTL_NANOS;
+            this.lastAccess = now;
         }
         
-        // Check if user is the chef assigned to this order
-        return order.getOrderItems().stream()
-                .anyMatch(item -> item.getMenuItem().getChef().getId().equals(userId));
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
     }
 }
\ No newline at end of file
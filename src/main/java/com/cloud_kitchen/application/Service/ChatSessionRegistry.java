@@ -0,0 +1,119 @@
+package com.cloud_kitchen.application.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Open chat WebSocket sessions indexed by order id.
+ *
+ * A user may have several sessions for the same order (one per tab or device); each is tracked
+ * by its WebSocket session id, so registering and unregistering never scan other orders.
+ * Sessions are wrapped in a {@link ConcurrentWebSocketSessionDecorator}, so a client that exceeds
+ * the send-time or buffer limit is closed, and written through a {@link SessionSendLane} on the
+ * chat delivery pool, so each session receives its frames in order.
+ */
+@Slf4j
+@Component
+public class ChatSessionRegistry {
+
+    private final Map<Long, Set<SessionSendLane>> lanesByOrder = new ConcurrentHashMap<>();
+    private final Map<String, Registration> registrationsBySessionId = new ConcurrentHashMap<>();
+
+    private final ThreadPoolTaskExecutor chatDeliveryExecutor;
+    private final int sendTimeLimitMs;
+    private final int bufferSizeLimitBytes;
+    private final int maxPendingFrames;
+
+    public ChatSessionRegistry(ThreadPoolTaskExecutor chatDeliveryExecutor,
+                               @Value("${chat.ws.send-time-limit-ms:10000}") int sendTimeLimitMs,
+                               @Value("${chat.ws.buffer-size-limit-bytes:524288}") int bufferSizeLimitBytes,
+                               @Value("${chat.ws.max-pending-frames:1000}") int maxPendingFrames) {
+        this.chatDeliveryExecutor = chatDeliveryExecutor;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.bufferSizeLimitBytes = bufferSizeLimitBytes;
+        this.maxPendingFrames = maxPendingFrames;
+    }
+
+    /**
+     * Registers the session for an order and returns the lane all writes must go through
+     */
+    public SessionSendLane register(Long orderId, WebSocketSession session) {
+        WebSocketSession buffered = new ConcurrentWebSocketSessionDecorator(
+                session, sendTimeLimitMs, bufferSizeLimitBytes,
+                ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE);
+        SessionSendLane lane = new SessionSendLane(buffered, chatDeliveryExecutor, maxPendingFrames, this::unregister);
+        registrationsBySessionId.put(session.getId(), new Registration(orderId, lane));
+        // Add inside the atomic step, so a concurrent unregister cannot drop the set as empty
+        // between creating it and adding this session (a reconnect racing the old socket's close)
+        lanesByOrder.compute(orderId, (id, orderLanes) -> {
+            Set<SessionSendLane> lanes = orderLanes != null ? orderLanes : ConcurrentHashMap.newKeySet();
+            lanes.add(lane);
+            return lanes;
+        });
+        return lane;
+    }
+
+    /**
+     * Removes the session and returns the order it was registered for, or null if unknown
+     */
+    public Long unregister(WebSocketSession session) {
+        Registration registration = registrationsBySessionId.remove(session.getId());
+        if (registration == null) {
+            return null;
+        }
+        // Drop the order's set atomically once its last session is gone
+        lanesByOrder.computeIfPresent(registration.orderId, (id, orderLanes) -> {
+            orderLanes.remove(registration.lane);
+            return orderLanes.isEmpty() ? null : orderLanes;
+        });
+        return registration.orderId;
+    }
+
+    /**
+     * Sends a frame to one session, behind any frames already queued for it.
+     * Sessions that are not registered (yet) are written to directly.
+     */
+    public void send(WebSocketSession session, TextMessage frame) throws IOException {
+        Registration registration = registrationsBySessionId.get(session.getId());
+        if (registration != null) {
+            registration.lane.send(frame);
+        } else if (session.isOpen()) {
+            session.sendMessage(frame);
+        }
+    }
+
+    public Collection<SessionSendLane> getLanes(Long orderId) {
+        Set<SessionSendLane> orderLanes = lanesByOrder.get(orderId);
+        return orderLanes == null ? List.of() : orderLanes;
+    }
+
+    public int getSessionCount() {
+        return registrationsBySessionId.size();
+    }
+
+    public int getOrderCount() {
+        return lanesByOrder.size();
+    }
+
+    private static final class Registration {
+        private final Long orderId;
+        private final SessionSendLane lane;
+
+        private Registration(Long orderId, SessionSendLane lane) {
+            this.orderId = orderId;
+            this.lane = lane;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.cloud_kitchen.application.Service;
+
+import com.cloud_kitchen.application.Event.ChatMessageSentEvent;
+import com.cloud_kitchen.application.Repository.ChatMessageRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory unread counters per (chat session, reader) plus the batching of read receipts.
+ *
+ * Each counter holds the ids of the reader's unread messages, so seeding from the database, new
+ * messages and receipts can arrive in any order without double counting. Counters are seeded lazily
+ * with one query for all sessions a reader asks about and then kept current from ChatMessageSentEvent.
+ *
+ * Receipts only move a reader's high-water mark in memory; the marks are coalesced per reader and
+ * flushed periodically as one {@code UPDATE ... WHERE id <= :lastSeen} each, all in a single transaction.
+ */
+@Slf4j
+@Component
+public class ChatUnreadTracker {
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final TransactionTemplate flushTransaction;
+    private final int maxSize;
+
+    private final Map<Key, Unread> counters = new ConcurrentHashMap<>();
+    // Highest message id each reader has acknowledged since the last flush
+    private final Map<Key, Long> pendingReceipts = new ConcurrentHashMap<>();
+
+    public ChatUnreadTracker(ChatMessageRepository chatMessageRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${chat.unread.max-size:20000}") int maxSize) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Unread message counts of one reader for the given chat sessions, keyed by chat session id
+     */
+    public Map<Long, Integer> getUnreadCounts(Collection<Long> chatSessionIds, Long userId) {
+        Map<Long, Unread> unseeded = new HashMap<>();
+        for (Long chatSessionId : chatSessionIds) {
+            Unread unread = counters.get(new Key(chatSessionId, userId));
+            if (unread == null || !unread.isSeeded()) {
+                unseeded.put(chatSessionId, unread);
+            }
+        }
+        if (!unseeded.isEmpty()) {
+            seed(unseeded, userId);
+        }
+
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Long chatSessionId : chatSessionIds) {
+            Unread unread = counters.get(new Key(chatSessionId, userId));
+            counts.put(chatSessionId, unread != null ? unread.count() : unseededCount(unseeded.get(chatSessionId)));
+        }
+        return counts;
+    }
+
+    /**
+     * Records that the reader has seen every message of the session up to lastSeenMessageId.
+     * The counter drops at once; the database catches up on the next flush.
+     */
+    public void markRead(Long chatSessionId, Long userId, Long lastSeenMessageId) {
+        Key key = new Key(chatSessionId, userId);
+        pendingReceipts.merge(key, lastSeenMessageId, Math::max);
+        Unread unread = counters.get(key);
+        if (unread != null) {
+            unread.readUpTo(lastSeenMessageId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChatMessageSent(ChatMessageSentEvent event) {
+        for (Long recipientId : event.getRecipientIds()) {
+            // Readers without a counter are seeded from the committed rows on their next request
+            Unread unread = counters.get(new Key(event.getChatSessionId(), recipientId));
+            if (unread != null) {
+                unread.add(event.getMessageId());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.read-receipts.flush-interval-ms:2000}")
+    public void flush() {
+        if (pendingReceipts.isEmpty()) {
+            return;
+        }
+        Map<Key, Long> batch = new HashMap<>();
+        for (Map.Entry<Key, Long> receipt : pendingReceipts.entrySet()) {
+            if (pendingReceipts.remove(receipt.getKey(), receipt.getValue())) {
+                batch.put(receipt.getKey(), receipt.getValue());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            Integer updated = flushTransaction.execute(status -> {
+                int rows = 0;
+                for (Map.Entry<Key, Long> receipt : batch.entrySet()) {
+                    rows += chatMessageRepository.markReadUpTo(receipt.getKey().chatSessionId,
+                            receipt.getKey().userId, receipt.getValue());
+                }
+                return rows;
+            });
+            log.debug("Flushed {} read receipts, {} messages marked read", batch.size(), updated);
+        } catch (Exception e) {
+            // Keep the marks for the next flush; a newer receipt for the same reader wins
+            batch.forEach((key, lastSeen) -> pendingReceipts.merge(key, lastSeen, Math::max));
+            log.error("Read receipt flush failed, {} receipts kept for retry: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void seed(Map<Long, Unread> unseeded, Long userId) {
+        if (counters.size() + unseeded.size() > maxSize) {
+            makeRoom(unseeded.size());
+        }
+        // Counters exist before the query runs, so a message committed while it runs is added by the
+        // listener; one committed before it is in the result. Ids seen both ways are counted once.
+        for (Long chatSessionId : unseeded.keySet()) {
+            unseeded.put(chatSessionId, counters.computeIfAbsent(new Key(chatSessionId, userId), k -> new Unread()));
+        }
+
+        Map<Long, List<Long>> unreadIds = new HashMap<>();
+        for (Object[] row : chatMessageRepository.findUnreadMessageIds(unseeded.keySet(), userId)) {
+            unreadIds.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+        }
+
+        for (Map.Entry<Long, Unread> entry : unseeded.entrySet()) {
+            Unread unread = entry.getValue();
+            // Receipts not yet flushed still count
+            Long pending = pendingReceipts.get(new Key(entry.getKey(), userId));
+            if (pending != null) {
+                unread.readUpTo(pending);
+            }
+            unread.seed(unreadIds.getOrDefault(entry.getKey(), List.of()));
+        }
+    }
+
+    private static int unseededCount(Unread unread) {
+        return unread != null ? unread.count() : 0;
+    }
+
+    private void makeRoom(int needed) {
+        // Dropped counters are simply seeded again on their next request
+        Iterator<Key> keys = counters.keySet().iterator();
+        while (counters.size() + needed > maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+        log.debug("Unread counters trimmed to {} entries", counters.size());
+    }
+
+    private static final class Key {
+        private final Long chatSessionId;
+        private final Long userId;
+
+        private Key(Long chatSessionId, Long userId) {
+            this.chatSessionId = chatSessionId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return chatSessionId.equals(other.chatSessionId) && userId.equals(other.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(chatSessionId, userId);
+        }
+    }
+
+    /**
+     * Unread message ids of one reader in one session, above the reader's high-water mark
+     */
+    private static final class Unread {
+        private final TreeSet<Long> messageIds = new TreeSet<>();
+        private long readUpTo;
+        private volatile boolean seeded;
+
+        private boolean isSeeded() {
+            return seeded;
+        }
+
+        private synchronized void seed(Collection<Long> ids) {
+            ids.forEach(this::add);
+            seeded = true;
+        }
+
+        private synchronized void add(Long messageId) {
+            if (messageId > readUpTo) {
+                messageIds.add(messageId);
+            }
+        }
+
+        private synchronized void readUpTo(long lastSeenMessageId) {
+            if (lastSeenMessageId > readUpTo) {
+                readUpTo = lastSeenMessageId;
+                messageIds.headSet(lastSeenMessageId, true).clear();
+            }
+        }
+
+        private synchronized int count() {
+            return messageIds.size();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.cloud_kitchen.application.Service;
+
+import com.cloud_kitchen.application.Entity.OrderStatus;
+import com.cloud_kitchen.application.Event.OrderStatusChangedEvent;
+import com.cloud_kitchen.application.Repository.OrderItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * In-process "pairs well with" recommender built from delivered orders.
+ *
+ * Keeps a sparse co-occurrence matrix: for every menu item one row of sorted neighbour ids and the
+ * number of delivered orders containing both items. Rows are immutable and swapped atomically, so
+ * reads never lock. The matrix is rebuilt from history at startup and updated incrementally as orders
+ * are delivered.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CoOccurrenceRecommender {
+
+    private final OrderItemRepository orderItemRepository;
+
+    private volatile Map<Long, Row> rows = new ConcurrentHashMap<>();
+
+    /**
+     * Scores candidates by summed cosine similarity to the current items (co-occurrence count normalised
+     * by how often each item is ordered), best first. When co-occurrence yields fewer than limit
+     * candidates the rest is filled with the most ordered items.
+     */
+    public List<Recommendation> recommend(Collection<Long> currentItemIds, Predicate<Long> eligible, int limit) {
+        Map<Long, Row> matrix = rows;
+        Map<Long, Recommendation> scored = new HashMap<>();
+
+        for (Long currentId : currentItemIds) {
+            Row row = matrix.get(currentId);
+            if (row == null) {
+                continue;
+            }
+            for (int i = 0; i < row.neighbours.length; i++) {
+                long candidateId = row.neighbours[i];
+                if (currentItemIds.contains(candidateId) || !eligible.test(candidateId)) {
+                    continue;
+                }
+                Row candidate = matrix.get(candidateId);
+                if (candidate == null || candidate.orders == 0) {
+                    // Rows are created before any link to them, so this only guards the invariant
+                    continue;
+                }
+                double similarity = row.counts[i] / Math.sqrt((double) row.orders * candidate.orders);
+                Recommendation previous = scored.get(candidateId);
+                if (previous == null) {
+                    scored.put(candidateId, new Recommendation(candidateId, similarity, currentId, row.counts[i]));
+                } else {
+                    scored.put(candidateId, previous.plus(similarity, currentId, row.counts[i]));
+                }
+            }
+        }
+
+        List<Recommendation> result = new ArrayList<>(scored.values());
+        result.sort(Comparator.comparingDouble(Recommendation::getScore).reversed()
+                .thenComparing(Recommendation::getMenuItemId));
+        if (result.size() >= limit) {
+            return result.subList(0, limit);
+        }
+
+        // Cold start or sparse history: top up with popular items
+        matrix.entrySet().stream()
+                .filter(e -> !currentItemIds.contains(e.getKey()) && !scored.containsKey(e.getKey())
+                        && eligible.test(e.getKey()))
+                .sorted(Comparator.comparingInt((Map.Entry<Long, Row> e) -> e.getValue().orders).reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(limit - result.size())
+                .forEach(e -> result.add(new Recommendation(e.getKey(), 0.0, null, 0)));
+        return result;
+    }
+
+    /**
+     * Counts the items of an order the moment it is delivered
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getNewStatus() != OrderStatus.DELIVERED) {
+            return;
+        }
+        try {
+            recordOrder(rows, orderItemRepository.findMenuItemIdsByOrderId(event.getOrderId()));
+        } catch (Exception e) {
+            log.warn("Could not add order {} to co-occurrence counts: {}", event.getOrderId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the matrix from all delivered orders and swaps it in.
+     * A delivery committed while the rebuild runs may be missed until the next rebuild.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<Long, Row> fresh = new ConcurrentHashMap<>();
+        long orders = 0;
+        List<Long> orderItems = new ArrayList<>();
+        Long currentOrderId = null;
+
+        try (Stream<Object[]> pairs = orderItemRepository.streamOrderMenuItemPairs(OrderStatus.DELIVERED)) {
+            for (Object[] pair : (Iterable<Object[]>) pairs::iterator) {
+                Long orderId = ((Number) pair[0]).longValue();
+                if (!orderId.equals(currentOrderId)) {
+                    if (currentOrderId != null) {
+                        recordOrder(fresh, orderItems);
+                        orders++;
+                    }
+                    currentOrderId = orderId;
+                    orderItems.clear();
+                }
+                orderItems.add(((Number) pair[1]).longValue());
+            }
+        }
+        if (currentOrderId != null) {
+            recordOrder(fresh, orderItems);
+            orders++;
+        }
+
+        rows = fresh;
+        log.info("Built co-occurrence matrix from {} delivered orders covering {} menu items", orders, fresh.size());
+    }
+
+    /**
+     * Adds one order to the matrix in two passes: every item's row is created or counted first and only
+     * then linked to its neighbours, so a concurrent reader never finds a neighbour without its own row.
+     */
+    private static void recordOrder(Map<Long, Row> matrix, Collection<Long> menuItemIds) {
+        long[] items = menuItemIds.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+        for (long item : items) {
+            matrix.compute(item, (id, row) -> (row != null ? row : Row.EMPTY).withOrder());
+        }
+        for (long item : items) {
+            matrix.compute(item, (id, row) -> row.withNeighbours(id, items));
+        }
+    }
+
+    /**
+     * One matrix row: how many delivered orders contained the item, and per neighbour
+     * (sorted by id) how many of those also contained the neighbour
+     */
+    private static final class Row {
+        private static final Row EMPTY = new Row(0, new long[0], new int[0]);
+
+        private final int orders;
+        private final long[] neighbours;
+        private final int[] counts;
+
+        private Row(int orders, long[] neighbours, int[] counts) {
+            this.orders = orders;
+            this.neighbours = neighbours;
+            this.counts = counts;
+        }
+
+        /**
+         * Copy of this row with one more order containing the item
+         */
+        private Row withOrder() {
+            return new Row(orders + 1, neighbours, counts);
+        }
+
+        /**
+         * Copy of this row with one more co-occurrence with each of the given sorted items but self
+         */
+        private Row withNeighbours(long self, long[] orderItems) {
+            long[] mergedIds = new long[neighbours.length + orderItems.length];
+            int[] mergedCounts = new int[mergedIds.length];
+            int i = 0, j = 0, n = 0;
+            while (i < neighbours.length || j < orderItems.length) {
+                if (j < orderItems.length && orderItems[j] == self) {
+                    j++;
+                } else if (j == orderItems.length || (i < neighbours.length && neighbours[i] < orderItems[j])) {
+                    mergedIds[n] = neighbours[i];
+                    mergedCounts[n++] = counts[i++];
+                } else if (i == neighbours.length || orderItems[j] < neighbours[i]) {
+                    mergedIds[n] = orderItems[j++];
+                    mergedCounts[n++] = 1;
+                } else {
+                    mergedIds[n] = neighbours[i];
+                    mergedCounts[n++] = counts[i++] + 1;
+                    j++;
+                }
+            }
+            return new Row(orders, Arrays.copyOf(mergedIds, n), Arrays.copyOf(mergedCounts, n));
+        }
+    }
+
+    public static final class Recommendation {
+        private final Long menuItemId;
+        private final double score;
+        // Current item with the strongest co-occurrence, null for popularity fill-ins
+        private final Long anchorItemId;
+        private final int anchorCount;
+
+        private Recommendation(Long menuItemId, double score, Long anchorItemId, int anchorCount) {
+            this.menuItemId = menuItemId;
+            this.score = score;
+            this.anchorItemId = anchorItemId;
+            this.anchorCount = anchorCount;
+        }
+
+        private Recommendation plus(double similarity, Long currentId, int count) {
+            return count > anchorCount
+                    ? new Recommendation(menuItemId, score + similarity, currentId, count)
+                    : new Recommendation(menuItemId, score + similarity, anchorItemId, anchorCount);
+        }
+
+        public Long getMenuItemId() { return menuItemId; }
+
+        public double getScore() { return score; }
+
+        public Long getAnchorItemId() { return anchorItemId; }
+
+        public int getAnchorCount() { return anchorCount; }
+    }
+}
@@ -2,6 +2,7 @@ package com.cloud_kitchen.application.Service;
 
 import com.cloud_kitchen.application.Entity.User;
 import com.cloud_kitchen.application.Repository.UserRepository;
+import com.cloud_kitchen.application.Security.PrincipalCache;
 import com.cloud_kitchen.application.Security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     @Transactional
@@ -35,4 +37,25 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return UserPrincipal.create(user);
     }
+
+    /**
+     * Builds the principal from the identity claims already carried by a verified JWT.
+     * Only the active flag is read from the database, and only when the user is not cached.
+     */
+    @Transactional(readOnly = true)
+    public UserDetails loadUserFromClaims(Long id, String email, String name, String role)
+            throws UsernameNotFoundException {
+        UserPrincipal cached = principalCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        Boolean active = userRepository.findActiveById(id)
+                .orElseThrow(() ->
+                        new UsernameNotFoundException("User not found with id: " + id));
+
+        UserPrincipal principal = new UserPrincipal(id, name, email, null, role, active);
+        principalCache.put(principal);
+        return principal;
+    }
 }
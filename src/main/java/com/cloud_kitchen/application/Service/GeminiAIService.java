@@ -3,19 +3,17 @@ package com.cloud_kitchen.application.Service;
 import com.cloud_kitchen.application.DTO.AIMealGenerationRequest;
 import com.cloud_kitchen.application.DTO.AIMealGenerationResponse;
 import com.cloud_kitchen.application.DTO.AIMealItem;
-import com.cloud_kitchen.application.Entity.MenuItem;
-import com.cloud_kitchen.application.Repository.MenuItemRepository;
+import com.cloud_kitchen.application.DTO.MenuItemResponse;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,16 +21,22 @@ public class GeminiAIService {
 
     private static final Logger log = LoggerFactory.getLogger(GeminiAIService.class);
 
-    @Value("${gemini.api.key}")
-    private String geminiApiKey;
+    @Autowired
+    private MenuItemService menuItemService;
 
-    @Value("${gemini.api.url}")
-    private String geminiApiUrl;
+    @Autowired
+    private GeminiClient geminiClient;
 
     @Autowired
-    private MenuItemRepository menuItemRepository;
+    private CoOccurrenceRecommender coOccurrenceRecommender;
+
+    // Optionally let Gemini pick the final suggestions from the local shortlist
+    @Value("${ai.recommendations.gemini-rerank:false}")
+    private boolean geminiRerank;
+
+    private static final int RECOMMENDATION_COUNT = 3;
+    private static final int RERANK_SHORTLIST_SIZE = 10;
 
-    private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
@@ -40,11 +44,12 @@ public class GeminiAIService {
      */
     public AIMealGenerationResponse generateAIMeal(AIMealGenerationRequest request) {
         try {
-            // Get available menu items
-            List<MenuItem> availableItems = menuItemRepository.findByAvailable(true);
+            // Get available menu items from the cached catalog
+            MenuCatalog catalog = menuItemService.getCatalog();
+            List<MenuItemResponse> availableItems = catalog.getAvailableItems();
 
             // Create prompt for Gemini
-            String prompt = createMealGenerationPrompt(request, availableItems);
+            String prompt = createMealGenerationPrompt(request, catalog, availableItems);
 
             // Call Gemini API
             String geminiResponse = callGeminiApi(prompt);
@@ -60,25 +65,85 @@ public class GeminiAIService {
     }
 
     /**
-     * Get smart recommendations for current items
+     * Generate AI meal, passing the raw Gemini text to onChunk as it streams in.
+     * Returns the parsed meal once the stream completes, or the fallback meal if it fails.
      */
-    public List<AIMealItem> getSmartRecommendations(List<Long> currentItemIds) {
+    public AIMealGenerationResponse streamAIMeal(AIMealGenerationRequest request, Consumer<String> onChunk) {
         try {
-            List<MenuItem> currentItems = menuItemRepository.findAllById(currentItemIds);
-            List<MenuItem> allItems = menuItemRepository.findByAvailable(true);
+            MenuCatalog catalog = menuItemService.getCatalog();
+            List<MenuItemResponse> availableItems = catalog.getAvailableItems();
 
-            // Remove current items from recommendations
-            List<MenuItem> availableForRecommendation = allItems.stream()
-                    .filter(item -> !currentItemIds.contains(item.getId()))
-                    .collect(Collectors.toList());
+            String prompt = createMealGenerationPrompt(request, catalog, availableItems);
+            String geminiResponse = geminiClient.streamText(prompt, onChunk);
+
+            return parseMealGenerationResponse(geminiResponse, availableItems);
+
+        } catch (Exception e) {
+            log.error("Streaming AI meal generation failed: {}", e.getMessage());
+            return generateFallbackMeal(request);
+        }
+    }
 
-            String prompt = createRecommendationPrompt(currentItems, availableForRecommendation);
+    /**
+     * Get smart recommendations for current items.
+     * Candidates come from the local co-occurrence recommender; Gemini only re-ranks them when enabled.
+     */
+    public List<AIMealItem> getSmartRecommendations(List<Long> currentItemIds) {
+        MenuCatalog catalog = menuItemService.getCatalog();
+        Set<Long> currentIds = new HashSet<>(currentItemIds);
+
+        List<CoOccurrenceRecommender.Recommendation> shortlist = coOccurrenceRecommender.recommend(currentIds,
+                id -> {
+                    MenuItemResponse item = catalog.getItem(id);
+                    return item != null && Boolean.TRUE.equals(item.getAvailable());
+                },
+                geminiRerank ? RERANK_SHORTLIST_SIZE : RECOMMENDATION_COUNT);
+
+        List<AIMealItem> recommendations = new ArrayList<>();
+        for (CoOccurrenceRecommender.Recommendation recommendation : shortlist) {
+            MenuItemResponse item = catalog.getItem(recommendation.getMenuItemId());
+            MenuItemResponse anchor = recommendation.getAnchorItemId() != null
+                    ? catalog.getItem(recommendation.getAnchorItemId()) : null;
+
+            AIMealItem aiItem = new AIMealItem();
+            aiItem.setMenuItemId(item.getId());
+            aiItem.setName(item.getName());
+            aiItem.setPrice(item.getPrice());
+            aiItem.setReason(anchor != null ? "Often ordered together with " + anchor.getName() : "Popular choice");
+            aiItem.setQuantity(1);
+            aiItem.setChefId(item.getChefId());
+            aiItem.setChefName(item.getChefName());
+            recommendations.add(aiItem);
+        }
+
+        if (geminiRerank && recommendations.size() > RECOMMENDATION_COUNT) {
+            List<AIMealItem> reranked = rerankWithGemini(catalog, currentItemIds, shortlist);
+            if (!reranked.isEmpty()) {
+                return reranked;
+            }
+        }
+        return recommendations.subList(0, Math.min(RECOMMENDATION_COUNT, recommendations.size()));
+    }
+
+    /**
+     * Ask Gemini to choose among the shortlist only; empty when it fails
+     */
+    private List<AIMealItem> rerankWithGemini(MenuCatalog catalog, List<Long> currentItemIds,
+                                              List<CoOccurrenceRecommender.Recommendation> shortlist) {
+        try {
+            List<MenuItemResponse> currentItems = findCatalogItems(catalog, currentItemIds);
+            List<MenuItemResponse> candidates = findCatalogItems(catalog, shortlist.stream()
+                    .map(CoOccurrenceRecommender.Recommendation::getMenuItemId)
+                    .collect(Collectors.toList()));
+
+            String prompt = createRecommendationPrompt(catalog, currentItems, candidates);
             String geminiResponse = callGeminiApi(prompt);
 
-            return parseRecommendationResponse(geminiResponse, availableForRecommendation);
+            List<AIMealItem> reranked = parseRecommendationResponse(geminiResponse, candidates);
+            return reranked.subList(0, Math.min(RECOMMENDATION_COUNT, reranked.size()));
 
         } catch (Exception e) {
-            log.error("Smart recommendations failed: {}", e.getMessage());
+            log.error("Gemini re-ranking of recommendations failed: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
@@ -88,9 +153,10 @@ public class GeminiAIService {
      */
     public Map<String, Object> analyzeMeal(String mealName, List<Long> itemIds) {
         try {
-            List<MenuItem> items = menuItemRepository.findAllById(itemIds);
+            MenuCatalog catalog = menuItemService.getCatalog();
+            List<MenuItemResponse> items = findCatalogItems(catalog, itemIds);
 
-            String prompt = createAnalysisPrompt(mealName, items);
+            String prompt = createAnalysisPrompt(mealName, catalog, items);
             String geminiResponse = callGeminiApi(prompt);
 
             return parseAnalysisResponse(geminiResponse);
@@ -101,15 +167,30 @@ public class GeminiAIService {
         }
     }
 
+    /**
+     * Look up menu items by id in the catalog, skipping unknown ids
+     */
+    private List<MenuItemResponse> findCatalogItems(MenuCatalog catalog, List<Long> itemIds) {
+        List<MenuItemResponse> items = new ArrayList<>();
+        for (Long id : itemIds) {
+            MenuItemResponse item = catalog.getItem(id);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
     /**
      * Create meal generation prompt
      */
-    private String createMealGenerationPrompt(AIMealGenerationRequest request, List<MenuItem> availableItems) {
+    private String createMealGenerationPrompt(AIMealGenerationRequest request, MenuCatalog catalog,
+                                              List<MenuItemResponse> availableItems) {
         StringBuilder prompt = new StringBuilder();
         prompt.append("You are a professional nutritionist and chef assistant for a cloud kitchen platform.\n\n");
         
         // Filter items based on dietary preferences BEFORE showing to AI
-        List<MenuItem> filteredItems = filterItemsByDietaryPreferences(availableItems, request.getDietaryPreferences());
+        List<MenuItemResponse> filteredItems = filterItemsByDietaryPreferences(availableItems, request.getDietaryPreferences());
         
         prompt.append("User Request: \"").append(request.getUserInput()).append("\"\n\n");
 
@@ -148,11 +229,9 @@ public class GeminiAIService {
             prompt.append("Occasion: ").append(request.getOccasion()).append("\n\n");
         }
 
-        prompt.append("Available Menu Items (PRE-FILTERED for dietary restrictions):\n");
-        for (MenuItem item : filteredItems) {
-            prompt.append(String.format("- %s (₹%.2f) - %s, Chef: %s\n",
-                    item.getName(), item.getPrice(), item.getCategory(), item.getChef().getName()));
-        }
+        prompt.append("Available Menu Items (PRE-FILTERED for dietary restrictions, one per line: ")
+                .append(MenuCatalog.DIGEST_COLUMNS).append("):\n");
+        prompt.append(catalog.digest(filteredItems));
 
         prompt.append("\n🎯 STRICT REQUIREMENTS:\n");
         prompt.append("1. ONLY select items from the list above - NO exceptions\n");
@@ -190,12 +269,12 @@ public class GeminiAIService {
     /**
      * Filter menu items based on dietary preferences
      */
-    private List<MenuItem> filterItemsByDietaryPreferences(List<MenuItem> items, List<String> preferences) {
+    private List<MenuItemResponse> filterItemsByDietaryPreferences(List<MenuItemResponse> items, List<String> preferences) {
         if (preferences == null || preferences.isEmpty()) {
             return items;
         }
         
-        List<MenuItem> filtered = new ArrayList<>(items);
+        List<MenuItemResponse> filtered = new ArrayList<>(items);
         
         for (String pref : preferences) {
             String prefLower = pref.toLowerCase();
@@ -251,17 +330,15 @@ public class GeminiAIService {
     /**
      * Create recommendation prompt
      */
-    private String createRecommendationPrompt(List<MenuItem> currentItems, List<MenuItem> availableItems) {
+    private String createRecommendationPrompt(MenuCatalog catalog, List<MenuItemResponse> currentItems,
+                                              List<MenuItemResponse> availableItems) {
         StringBuilder prompt = new StringBuilder();
+        prompt.append("Menu items are listed one per line as: ").append(MenuCatalog.DIGEST_COLUMNS).append("\n\n");
         prompt.append("Current meal items:\n");
-        for (MenuItem item : currentItems) {
-            prompt.append(String.format("- %s (₹%.2f)\n", item.getName(), item.getPrice()));
-        }
+        prompt.append(catalog.digest(currentItems));
 
         prompt.append("\nAvailable items to recommend:\n");
-        for (MenuItem item : availableItems) {
-            prompt.append(String.format("- %s (₹%.2f) - %s\n", item.getName(), item.getPrice(), item.getCategory()));
-        }
+        prompt.append(catalog.digest(availableItems));
 
         prompt.append("\nSuggest 3 items that would pair perfectly with the current selection.\n");
         prompt.append("Consider flavor profiles, nutritional balance, and traditional pairings.\n\n");
@@ -281,14 +358,12 @@ public class GeminiAIService {
     /**
      * Create analysis prompt
      */
-    private String createAnalysisPrompt(String mealName, List<MenuItem> items) {
+    private String createAnalysisPrompt(String mealName, MenuCatalog catalog, List<MenuItemResponse> items) {
         StringBuilder prompt = new StringBuilder();
         prompt.append("Analyze this meal:\n");
         prompt.append("Name: ").append(mealName).append("\n");
-        prompt.append("Items:\n");
-        for (MenuItem item : items) {
-            prompt.append(String.format("- %s (₹%.2f) - %s\n", item.getName(), item.getPrice(), item.getCategory()));
-        }
+        prompt.append("Items (one per line: ").append(MenuCatalog.DIGEST_COLUMNS).append("):\n");
+        prompt.append(catalog.digest(items));
 
         prompt.append("\nProvide:\n");
         prompt.append("1. Nutritional score (0-10)\n");
@@ -313,50 +388,13 @@ public class GeminiAIService {
      * Call Gemini API
      */
     private String callGeminiApi(String prompt) {
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            Map<String, Object> requestBody = new HashMap<>();
-            List<Map<String, Object>> contents = new ArrayList<>();
-            Map<String, Object> content = new HashMap<>();
-            List<Map<String, String>> parts = new ArrayList<>();
-            Map<String, String> part = new HashMap<>();
-            part.put("text", prompt);
-            parts.add(part);
-            content.put("parts", parts);
-            contents.add(content);
-            requestBody.put("contents", contents);
-
-            String url = geminiApiUrl + "?key=" + geminiApiKey;
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                JsonNode root = objectMapper.readTree(response.getBody());
-                JsonNode candidates = root.path("candidates");
-                if (candidates.isArray() && candidates.size() > 0) {
-                    JsonNode content1 = candidates.get(0).path("content");
-                    JsonNode parts1 = content1.path("parts");
-                    if (parts1.isArray() && parts1.size() > 0) {
-                        return parts1.get(0).path("text").asText();
-                    }
-                }
-            }
-
-            throw new RuntimeException("Failed to get response from Gemini API");
-
-        } catch (Exception e) {
-            log.error("Gemini API call failed: {}", e.getMessage());
-            throw new RuntimeException("Gemini API call failed", e);
-        }
+        return geminiClient.generateText(prompt);
     }
 
     /**
      * Parse meal generation response
      */
-    private AIMealGenerationResponse parseMealGenerationResponse(String geminiResponse, List<MenuItem> availableItems) {
+    private AIMealGenerationResponse parseMealGenerationResponse(String geminiResponse, List<MenuItemResponse> availableItems) {
         try {
             // Clean response - remove markdown code blocks if present
             String cleanedResponse = geminiResponse.trim();
@@ -388,7 +426,7 @@ public class GeminiAIService {
                 int quantity = itemNode.path("quantity").asInt(1);
 
                 // Find matching menu item
-                MenuItem menuItem = availableItems.stream()
+                MenuItemResponse menuItem = availableItems.stream()
                         .filter(mi -> mi.getName().equalsIgnoreCase(itemName))
                         .findFirst()
                         .orElse(null);
@@ -400,8 +438,8 @@ public class GeminiAIService {
                     aiItem.setPrice(menuItem.getPrice());
                     aiItem.setReason(reason);
                     aiItem.setQuantity(quantity);
-                    aiItem.setChefId(menuItem.getChef().getId());
-                    aiItem.setChefName(menuItem.getChef().getName());
+                    aiItem.setChefId(menuItem.getChefId());
+                    aiItem.setChefName(menuItem.getChefName());
                     items.add(aiItem);
 
                     totalPrice += menuItem.getPrice() * quantity;
@@ -441,7 +479,7 @@ public class GeminiAIService {
     /**
      * Parse recommendation response
      */
-    private List<AIMealItem> parseRecommendationResponse(String geminiResponse, List<MenuItem> availableItems) {
+    private List<AIMealItem> parseRecommendationResponse(String geminiResponse, List<MenuItemResponse> availableItems) {
         try {
             String cleanedResponse = geminiResponse.trim();
             if (cleanedResponse.startsWith("```json")) {
@@ -462,7 +500,7 @@ public class GeminiAIService {
                 String itemName = itemNode.path("name").asText();
                 String reason = itemNode.path("reason").asText();
 
-                MenuItem menuItem = availableItems.stream()
+                MenuItemResponse menuItem = availableItems.stream()
                         .filter(mi -> mi.getName().equalsIgnoreCase(itemName))
                         .findFirst()
                         .orElse(null);
@@ -474,8 +512,8 @@ public class GeminiAIService {
                     aiItem.setPrice(menuItem.getPrice());
                     aiItem.setReason(reason);
                     aiItem.setQuantity(1);
-                    aiItem.setChefId(menuItem.getChef().getId());
-                    aiItem.setChefName(menuItem.getChef().getName());
+                    aiItem.setChefId(menuItem.getChefId());
+                    aiItem.setChefName(menuItem.getChefName());
                     recommendations.add(aiItem);
                 }
             }
@@ -546,15 +584,16 @@ public class GeminiAIService {
      * Generate fallback meal when AI fails
      */
     private AIMealGenerationResponse generateFallbackMeal(AIMealGenerationRequest request) {
-        List<MenuItem> availableItems = menuItemRepository.findByAvailable(true);
+        // Copy before shuffling, catalog lists are shared and immutable
+        List<MenuItemResponse> availableItems = new ArrayList<>(menuItemService.getCatalog().getAvailableItems());
 
         // Select random items within budget
-        List<MenuItem> selectedItems = new ArrayList<>();
+        List<MenuItemResponse> selectedItems = new ArrayList<>();
         double totalPrice = 0.0;
         double budget = request.getBudget() != null ? request.getBudget() : 300.0;
 
         Collections.shuffle(availableItems);
-        for (MenuItem item : availableItems) {
+        for (MenuItemResponse item : availableItems) {
             if (totalPrice + item.getPrice() <= budget && selectedItems.size() < 3) {
                 selectedItems.add(item);
                 totalPrice += item.getPrice();
@@ -572,8 +611,8 @@ public class GeminiAIService {
             aiItem.setPrice(item.getPrice());
             aiItem.setReason("Popular choice");
             aiItem.setQuantity(1);
-            aiItem.setChefId(item.getChef().getId());
-            aiItem.setChefName(item.getChef().getName());
+            aiItem.setChefId(item.getChefId());
+            aiItem.setChefName(item.getChefName());
             return aiItem;
         }).collect(Collectors.toList());
 
@@ -0,0 +1,286 @@
+package com.cloud_kitchen.application.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Shared HTTP client for the Gemini generateContent API.
+ *
+ * Calls run with connect/read timeouts, at most {@code gemini.client.max-concurrent-calls} at a time,
+ * and behind a consecutive-failure circuit breaker. When the limit is reached or the breaker is open
+ * the call fails immediately with {@link GeminiUnavailableException}, so callers drop straight to their
+ * fallbacks. Calls block the calling thread; the AI endpoints therefore run them on the aiCallExecutor
+ * pool and return a CompletableFuture, so no request thread waits on Gemini.
+ *
+ * {@link #streamText} uses the streamGenerateContent endpoint with server-sent events and hands each
+ * text fragment to the caller as it arrives; it shares the same limits and breaker.
+ */
+@Component
+public class GeminiClient {
+
+    private static final Logger log = LoggerFactory.getLogger(GeminiClient.class);
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final String apiUrl;
+    private final String streamUrl;
+    private final String apiKey;
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    // Circuit breaker state, guarded by this
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean trialInFlight;
+
+    public GeminiClient(RestTemplateBuilder restTemplateBuilder,
+                        ObjectMapper objectMapper,
+                        @Value("${gemini.api.url}") String apiUrl,
+                        @Value("${gemini.api.stream-url:}") String streamUrl,
+                        @Value("${gemini.api.key}") String apiKey,
+                        @Value("${gemini.client.connect-timeout-ms:3000}") long connectTimeoutMs,
+                        @Value("${gemini.client.read-timeout-ms:20000}") long readTimeoutMs,
+                        @Value("${gemini.client.max-concurrent-calls:8}") int maxConcurrentCalls,
+                        @Value("${gemini.client.acquire-timeout-ms:250}") long acquireTimeoutMs,
+                        @Value("${gemini.client.failure-threshold:5}") int failureThreshold,
+                        @Value("${gemini.client.open-duration-ms:30000}") long openDurationMs) {
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .setReadTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
+        this.objectMapper = objectMapper;
+        this.apiUrl = apiUrl;
+        // Defaults to the streaming twin of the configured generateContent URL
+        this.streamUrl = StringUtils.hasText(streamUrl)
+                ? streamUrl
+                : apiUrl.replace(":generateContent", ":streamGenerateContent");
+        this.apiKey = apiKey;
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    /**
+     * Sends the prompt and returns the raw JSON response body
+     */
+    public String generateContent(String prompt) {
+        return guarded(() -> post(prompt));
+    }
+
+    /**
+     * Streams the response, passing each text fragment of the first candidate to onChunk as it arrives,
+     * and returns the full text once the stream ends. An exception thrown by onChunk aborts the stream
+     * and is rethrown as is; it does not count as a Gemini failure.
+     */
+    public String streamText(String prompt, Consumer<String> onChunk) {
+        try {
+            return guarded(() -> postStreaming(prompt, onChunk));
+        } catch (ChunkHandlerException e) {
+            throw e.getCause();
+        }
+    }
+
+    private String guarded(Supplier<String> call) {
+        boolean trial = beforeCall();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                releaseTrial(trial);
+                throw new GeminiUnavailableException("Too many concurrent Gemini calls");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            releaseTrial(trial);
+            throw new GeminiUnavailableException("Interrupted while waiting for a Gemini call slot");
+        }
+
+        try {
+            String body = call.get();
+            onSuccess();
+            return body;
+        } catch (ChunkHandlerException e) {
+            // The caller gave up on the stream, Gemini itself was fine
+            onSuccess();
+            throw e;
+        } catch (RuntimeException e) {
+            onFailure(e);
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Sends the prompt and returns the text of the first candidate
+     */
+    public String generateText(String prompt) {
+        String body = generateContent(prompt);
+        try {
+            JsonNode parts = objectMapper.readTree(body)
+                    .path("candidates").path(0).path("content").path("parts");
+            if (parts.isArray() && parts.size() > 0) {
+                return parts.get(0).path("text").asText();
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Unreadable Gemini response", e);
+        }
+        throw new RuntimeException("Failed to get response from Gemini API");
+    }
+
+    public synchronized boolean isOpen() {
+        return System.currentTimeMillis() < openUntil;
+    }
+
+    private String post(String prompt) {
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                apiUrl + "?key=" + apiKey, requestEntity(prompt), String.class);
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new RuntimeException("Gemini API call failed with status: " + response.getStatusCode());
+        }
+        return response.getBody();
+    }
+
+    private String postStreaming(String prompt, Consumer<String> onChunk) {
+        String url = streamUrl + (streamUrl.contains("?") ? "&" : "?") + "alt=sse&key=" + apiKey;
+        String text = restTemplate.execute(url, HttpMethod.POST,
+                restTemplate.httpEntityCallback(requestEntity(prompt), String.class),
+                response -> readEvents(response.getBody(), onChunk));
+        if (!StringUtils.hasLength(text)) {
+            throw new RuntimeException("Failed to get response from Gemini API");
+        }
+        return text;
+    }
+
+    /**
+     * Reads "data:" lines of the event stream; each carries a partial GenerateContentResponse
+     */
+    private String readEvents(InputStream body, Consumer<String> onChunk) throws IOException {
+        StringBuilder text = new StringBuilder();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.startsWith("data:")) {
+                continue;
+            }
+            String data = line.substring(5).trim();
+            if (data.isEmpty() || "[DONE]".equals(data)) {
+                continue;
+            }
+
+            StringBuilder chunk = new StringBuilder();
+            JsonNode parts = objectMapper.readTree(data)
+                    .path("candidates").path(0).path("content").path("parts");
+            for (JsonNode part : parts) {
+                chunk.append(part.path("text").asText(""));
+            }
+            if (chunk.length() > 0) {
+                text.append(chunk);
+                try {
+                    onChunk.accept(chunk.toString());
+                } catch (RuntimeException e) {
+                    throw new ChunkHandlerException(e);
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    private HttpEntity<Map<String, Object>> requestEntity(String prompt) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        Map<String, Object> requestBody = Map.of(
+                "contents", List.of(Map.of("parts", List.of(Map.of("text", prompt)))));
+        return new HttpEntity<>(requestBody, headers);
+    }
+
+    /**
+     * Rejects the call while the breaker is open; after the open period lets a single trial call through.
+     * Returns true when this call is that trial.
+     */
+    private synchronized boolean beforeCall() {
+        if (consecutiveFailures < failureThreshold) {
+            return false;
+        }
+        if (System.currentTimeMillis() < openUntil || trialInFlight) {
+            throw new GeminiUnavailableException("Gemini circuit breaker is open");
+        }
+        trialInFlight = true;
+        return true;
+    }
+
+    private synchronized void releaseTrial(boolean trial) {
+        if (trial) {
+            trialInFlight = false;
+        }
+    }
+
+    private synchronized void onSuccess() {
+        if (consecutiveFailures >= failureThreshold) {
+            log.info("Gemini circuit breaker closed");
+        }
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    private synchronized void onFailure(RuntimeException e) {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (consecutiveFailures >= failureThreshold) {
+            openUntil = System.currentTimeMillis() + openDurationMs;
+            log.warn("Gemini circuit breaker open for {} ms after {} consecutive failures: {}",
+                    openDurationMs, consecutiveFailures, e.getMessage());
+        }
+    }
+
+    // Carries an exception thrown by a streaming caller's chunk handler out of the HTTP call
+    private static class ChunkHandlerException extends RuntimeException {
+        private ChunkHandlerException(RuntimeException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
+        }
+    }
+
+    /**
+     * Thrown without contacting Gemini when the client is saturated or the circuit breaker is open
+     */
+    public static class GeminiUnavailableException extends RuntimeException {
+        public GeminiUnavailableException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.cloud_kitchen.application.Service;
+
+import com.cloud_kitchen.application.Entity.InvoiceSequence;
+import com.cloud_kitchen.application.Repository.InvoiceSequenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out invoice numbers of the form INV-yyyyMMdd-NNNNN.
+ *
+ * Values come from a per-day row in invoice_sequences. Each node reserves a block of values
+ * under a row lock in its own short transaction and then serves numbers from memory, so the
+ * common path touches no table at all. The reservation runs without any lock held in this class,
+ * since it needs a second pool connection while the caller's checkout transaction keeps its own;
+ * the reserved block is then published with a compare-and-set. Numbers are unique across nodes and
+ * increasing within a block; values of a block left unused when the node stops, the day rolls over
+ * or two threads reserve at the same moment are skipped.
+ */
+@Slf4j
+@Service
+public class InvoiceNumberAllocator {
+
+    private static final ZoneId IST_ZONE = ZoneId.of("Asia/Kolkata");
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    private final InvoiceSequenceRepository invoiceSequenceRepository;
+    private final TransactionTemplate reserveTransaction;
+    private final int blockSize;
+
+    private final AtomicReference<Block> currentBlock = new AtomicReference<>();
+
+    public InvoiceNumberAllocator(InvoiceSequenceRepository invoiceSequenceRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${invoice.sequence.block-size:50}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("invoice.sequence.block-size must be positive: " + blockSize);
+        }
+        this.invoiceSequenceRepository = invoiceSequenceRepository;
+        this.blockSize = blockSize;
+        // Reservations commit independently so a rolled-back checkout never hands its block back
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String nextInvoiceNumber() {
+        String day = LocalDate.now(IST_ZONE).format(DAY_FORMAT);
+        return String.format("INV-%s-%05d", day, nextValue(day));
+    }
+
+    private long nextValue(String day) {
+        Block block = currentBlock.get();
+        if (block != null && block.day.equals(day)) {
+            long value = block.next.getAndIncrement();
+            if (value < block.limit) {
+                return value;
+            }
+        }
+
+        // Exhausted or stale: reserve without holding anything, then publish. A thread that loses
+        // the race still owns its reserved block and serves this call from it.
+        long start = reserveBlock(day);
+        currentBlock.compareAndSet(block, new Block(day, start + 1, start + blockSize));
+        return start;
+    }
+
+    /**
+     * Reserves [start, start + blockSize) for this node and returns start
+     */
+    private long reserveBlock(String day) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Long start = reserveTransaction.execute(status -> {
+                    InvoiceSequence sequence = invoiceSequenceRepository.findForUpdate(day)
+                            .orElseGet(() -> new InvoiceSequence(day));
+                    long first = sequence.getNextValue();
+                    sequence.setNextValue(first + blockSize);
+                    invoiceSequenceRepository.saveAndFlush(sequence);
+                    return first;
+                });
+                log.debug("Reserved invoice numbers {}-{} for {}", start, start + blockSize - 1, day);
+                return start;
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the row for this day first; lock the existing row instead
+                if (attempt >= MAX_RESERVE_ATTEMPTS) {
+                    throw new RuntimeException("Could not reserve invoice numbers for " + day, e);
+                }
+                log.debug("Invoice sequence row for {} created concurrently, retrying", day);
+            }
+        }
+    }
+
+    /**
+     * Values [next, limit) of one reserved block still to be handed out
+     */
+    private static final class Block {
+        private final String day;
+        private final AtomicLong next;
+        private final long limit;
+
+        private Block(String day, long next, long limit) {
+            this.day = day;
+            this.next = new AtomicLong(next);
+            this.limit = limit;
+        }
+    }
+}
@@ -19,6 +19,9 @@ public class InvoiceService {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private InvoiceNumberAllocator invoiceNumberAllocator;
+
     public InvoiceResponse generateInvoice(Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
@@ -76,9 +79,6 @@ public class InvoiceService {
 
     public String generateInvoiceNumber() {
         // Generate invoice number: INV-YYYYMMDD-XXXXX
-        String datePart = java.time.LocalDate.now().format(
-                java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd"));
-        long count = orderRepository.count() + 1;
-        return String.format("INV-%s-%05d", datePart, count);
+        return invoiceNumberAllocator.nextInvoiceNumber();
     }
 }
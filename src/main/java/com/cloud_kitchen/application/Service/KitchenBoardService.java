@@ -0,0 +1,256 @@
+package com.cloud_kitchen.application.Service;
+
+import com.cloud_kitchen.application.DTO.KitchenBoardResponse;
+import com.cloud_kitchen.application.DTO.KitchenBoardUpdate;
+import com.cloud_kitchen.application.DTO.OrderItemResponse;
+import com.cloud_kitchen.application.DTO.OrderResponse;
+import com.cloud_kitchen.application.Entity.OrderStatus;
+import com.cloud_kitchen.application.Event.OrderCreatedEvent;
+import com.cloud_kitchen.application.Event.OrderStatusChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory kitchen board: per chef, the orders still in the kitchen (PENDING through READY).
+ *
+ * Seeded once from the active orders at startup, then kept current from OrderCreatedEvent and
+ * OrderStatusChangedEvent, whose order snapshots mean no query per change. Each change bumps the
+ * chef's board version and is pushed to the chef as a KITCHEN_BOARD_UPDATE frame on the order
+ * channel. Snapshots are ordered by the order's updatedAt, so a late event never overwrites a newer
+ * one or brings back an order that already left the board. A chef only sees their own items of an
+ * order, as in the chef order listing.
+ * History stays in the database behind the paginated chef order listing.
+ */
+@Slf4j
+@Service
+public class KitchenBoardService {
+
+    public static final Set<OrderStatus> ACTIVE_STATUSES = Collections.unmodifiableSet(EnumSet.of(
+            OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PREPARING, OrderStatus.READY));
+    public static final String UPDATE_TYPE = "KITCHEN_BOARD_UPDATE";
+
+    private final OrderService orderService;
+    private final OrderStatusPushService orderStatusPushService;
+
+    private final Map<Long, Board> boards = new ConcurrentHashMap<>();
+    // Orders changed by events while the seed query ran; their event state wins over the seed
+    private final Set<Long> changedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+    private volatile boolean loaded;
+
+    public KitchenBoardService(OrderService orderService, OrderStatusPushService orderStatusPushService) {
+        this.orderService = orderService;
+        this.orderStatusPushService = orderStatusPushService;
+    }
+
+    public KitchenBoardResponse getBoard(Long chefId) {
+        ensureLoaded();
+        Board board = boards.get(chefId);
+        return board != null ? board.snapshot(chefId) : new KitchenBoardResponse(chefId, 0L, List.of());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            ensureLoaded();
+        } catch (Exception e) {
+            // The first board request retries
+            log.error("Could not seed kitchen boards: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        apply(event.getOrder());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getOrder() != null) {
+            apply(event.getOrder());
+        }
+    }
+
+    private void apply(OrderResponse order) {
+        if (!loaded && !loading) {
+            // The seed reads committed orders, including this one
+            return;
+        }
+        if (loading) {
+            changedWhileLoading.add(order.getId());
+        }
+
+        boolean active = ACTIVE_STATUSES.contains(order.getStatus());
+        itemsByChef(order).forEach((chefId, items) -> {
+            Board board = boards.computeIfAbsent(chefId, id -> new Board());
+            KitchenBoardUpdate update = active
+                    ? board.upsert(chefId, forChef(order, items))
+                    : board.remove(chefId, order.getId(), order.getUpdatedAt());
+            if (update != null) {
+                orderStatusPushService.pushToUsers(List.of(chefId), update);
+            }
+        });
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    load();
+                }
+            }
+        }
+    }
+
+    private void load() {
+        loading = true;
+        try {
+            List<OrderResponse> active = orderService.getActiveOrders();
+            int seeded = 0;
+            for (OrderResponse order : active) {
+                if (changedWhileLoading.contains(order.getId())) {
+                    continue;
+                }
+                for (Map.Entry<Long, List<OrderItemResponse>> entry : itemsByChef(order).entrySet()) {
+                    boards.computeIfAbsent(entry.getKey(), id -> new Board())
+                            .seed(forChef(order, entry.getValue()));
+                }
+                seeded++;
+            }
+            loaded = true;
+            log.info("Seeded kitchen boards with {} active orders for {} chefs", seeded, boards.size());
+        } finally {
+            loading = false;
+            changedWhileLoading.clear();
+        }
+    }
+
+    private static Map<Long, List<OrderItemResponse>> itemsByChef(OrderResponse order) {
+        Map<Long, List<OrderItemResponse>> byChef = new LinkedHashMap<>();
+        if (order.getOrderItems() != null) {
+            for (OrderItemResponse item : order.getOrderItems()) {
+                if (item.getChefId() != null) {
+                    byChef.computeIfAbsent(item.getChefId(), id -> new ArrayList<>()).add(item);
+                }
+            }
+        }
+        return byChef;
+    }
+
+    /**
+     * The order as one chef sees it: the shared snapshot when every item is theirs, otherwise a copy
+     * with only their items. Board entries are never modified after they are stored.
+     */
+    private static OrderResponse forChef(OrderResponse order, List<OrderItemResponse> chefItems) {
+        if (chefItems.size() == order.getOrderItems().size()) {
+            return order;
+        }
+        OrderResponse copy = new OrderResponse();
+        copy.setId(order.getId());
+        copy.setOrderNumber(order.getOrderNumber());
+        copy.setStudentId(order.getStudentId());
+        copy.setStudentName(order.getStudentName());
+        copy.setTotalAmount(order.getTotalAmount());
+        copy.setStatus(order.getStatus());
+        copy.setDeliveryAddress(order.getDeliveryAddress());
+        copy.setSpecialInstructions(order.getSpecialInstructions());
+        copy.setEstimatedDeliveryTime(order.getEstimatedDeliveryTime());
+        copy.setCreatedAt(order.getCreatedAt());
+        copy.setUpdatedAt(order.getUpdatedAt());
+        copy.setOrderItems(List.copyOf(chefItems));
+        copy.setInvoiceNumber(order.getInvoiceNumber());
+        copy.setPaymentMethod(order.getPaymentMethod());
+        copy.setPaymentStatus(order.getPaymentStatus());
+        copy.setTaxAmount(order.getTaxAmount());
+        copy.setPlatformFee(order.getPlatformFee());
+        return copy;
+    }
+
+    /**
+     * One chef's active orders plus the lazily sorted queue view over them
+     */
+    private static final class Board {
+        private static final Comparator<OrderResponse> QUEUE_ORDER = Comparator
+                .comparing(OrderResponse::getCreatedAt, Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()))
+                .thenComparing(OrderResponse::getId);
+        // Removed orders remembered, so a snapshot arriving after the removal is recognized as stale
+        private static final int MAX_REMOVED = 1000;
+
+        private final Map<Long, OrderResponse> orders = new HashMap<>();
+        private final Map<Long, LocalDateTime> removedAt = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, LocalDateTime> eldest) {
+                return size() > MAX_REMOVED;
+            }
+        };
+        private long version;
+        // Dropped on every change, rebuilt on the next read
+        private List<OrderResponse> queue;
+
+        private synchronized void seed(OrderResponse order) {
+            if (!orders.containsKey(order.getId()) && !isStale(order.getId(), order.getUpdatedAt())) {
+                orders.put(order.getId(), order);
+                queue = null;
+            }
+        }
+
+        private synchronized KitchenBoardUpdate upsert(Long chefId, OrderResponse order) {
+            if (isStale(order.getId(), order.getUpdatedAt())) {
+                return null;
+            }
+            removedAt.remove(order.getId());
+            orders.put(order.getId(), order);
+            queue = null;
+            version++;
+            return new KitchenBoardUpdate(UPDATE_TYPE, "UPSERT", chefId, order.getId(), version, order);
+        }
+
+        private synchronized KitchenBoardUpdate remove(Long chefId, Long orderId, LocalDateTime updatedAt) {
+            if (isStale(orderId, updatedAt)) {
+                return null;
+            }
+            if (updatedAt != null) {
+                removedAt.put(orderId, updatedAt);
+            }
+            if (orders.remove(orderId) == null) {
+                return null;
+            }
+            queue = null;
+            version++;
+            return new KitchenBoardUpdate(UPDATE_TYPE, "REMOVE", chefId, orderId, version, null);
+        }
+
+        /**
+         * True if the board already reflects a newer change of the order than the one stamped updatedAt
+         */
+        private boolean isStale(Long orderId, LocalDateTime updatedAt) {
+            OrderResponse current = orders.get(orderId);
+            LocalDateTime latest = current != null ? current.getUpdatedAt() : removedAt.get(orderId);
+            return updatedAt != null && latest != null && updatedAt.isBefore(latest);
+        }
+
+        private synchronized KitchenBoardResponse snapshot(Long chefId) {
+            if (queue == null) {
+                List<OrderResponse> sorted = new ArrayList<>(orders.values());
+                sorted.sort(QUEUE_ORDER);
+                queue = List.copyOf(sorted);
+            }
+            return new KitchenBoardResponse(chefId, version, queue);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.cloud_kitchen.application.Service;
+
+import com.cloud_kitchen.application.DTO.MenuItemResponse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, versioned snapshot of the menu with precomputed category and chef indexes.
+ * Built by MenuItemService and replaced wholesale whenever the menu changes; rating changes are
+ * patched into a copy that keeps the version, so caches keyed on it stay warm.
+ *
+ * Also carries a compact prompt digest of the menu, one {@link #DIGEST_COLUMNS} line per item,
+ * so AI prompts are assembled without database access or per-call formatting.
+ */
+public final class MenuCatalog {
+
+    private final long version;
+    private final List<MenuItemResponse> allItems;
+    private final List<MenuItemResponse> availableItems;
+    private final Map<Long, MenuItemResponse> itemsById;
+    private final Map<String, List<MenuItemResponse>> itemsByCategory;
+    private final Map<Long, List<MenuItemResponse>> itemsByChef;
+    private final Map<Long, String> digestLines;
+    private final String availableDigest;
+
+    public static final String DIGEST_COLUMNS = "id|name|price|category|veg(V/N)|rating";
+
+    /**
+     * reusableLines holds digest lines still valid for their items; every other line is formatted anew
+     */
+    private MenuCatalog(long version, List<MenuItemResponse> items, Map<Long, String> reusableLines) {
+        this.version = version;
+        this.allItems = Collections.unmodifiableList(new ArrayList<>(items));
+        this.availableItems = items.stream()
+                .filter(item -> Boolean.TRUE.equals(item.getAvailable()))
+                .collect(Collectors.toUnmodifiableList());
+        this.itemsById = items.stream()
+                .collect(Collectors.toUnmodifiableMap(MenuItemResponse::getId, Function.identity()));
+        this.itemsByCategory = index(items, MenuItemResponse::getCategory);
+        this.itemsByChef = index(items, MenuItemResponse::getChefId);
+        this.digestLines = items.stream()
+                .collect(Collectors.toUnmodifiableMap(MenuItemResponse::getId,
+                        item -> {
+                            String line = reusableLines.get(item.getId());
+                            return line != null ? line : digestLine(item);
+                        }));
+        this.availableDigest = digest(availableItems);
+    }
+
+    public static MenuCatalog build(long version, List<MenuItemResponse> items) {
+        return new MenuCatalog(version, items, Map.of());
+    }
+
+    public long getVersion() { return version; }
+
+    public List<MenuItemResponse> getAllItems() { return allItems; }
+
+    public List<MenuItemResponse> getAvailableItems() { return availableItems; }
+
+    public MenuItemResponse getItem(Long id) { return itemsById.get(id); }
+
+    public List<MenuItemResponse> getItemsByCategory(String category) {
+        return itemsByCategory.getOrDefault(category, List.of());
+    }
+
+    public boolean hasChef(Long chefId) { return itemsByChef.containsKey(chefId); }
+
+    public List<MenuItemResponse> getItemsByChef(Long chefId) {
+        return itemsByChef.getOrDefault(chefId, List.of());
+    }
+
+    /**
+     * Copy of this catalog, same version, with the menu item's rating replaced.
+     * Returns this catalog when the item is unknown or already holds as many ratings.
+     */
+    public MenuCatalog withMenuItemRating(Long menuItemId, double averageRating, long ratingCount) {
+        MenuItemResponse item = itemsById.get(menuItemId);
+        if (item == null || ratingCount <= count(item.getMenuItemTotalRatings())) {
+            return this;
+        }
+        return withPatched(List.of(item), copy -> {
+            copy.setMenuItemAverageRating(averageRating);
+            copy.setMenuItemTotalRatings(ratingCount);
+        });
+    }
+
+    /**
+     * Copy of this catalog, same version, with the chef's rating replaced on all of the chef's items.
+     * Returns this catalog when the chef has no items or they already hold as many ratings.
+     */
+    public MenuCatalog withChefRating(Long chefId, double averageRating, long ratingCount) {
+        List<MenuItemResponse> items = getItemsByChef(chefId);
+        if (items.isEmpty() || ratingCount <= count(items.get(0).getChefTotalRatings())) {
+            return this;
+        }
+        return withPatched(items, copy -> {
+            copy.setChefAverageRating(averageRating);
+            copy.setChefTotalRatings(ratingCount);
+        });
+    }
+
+    /**
+     * Digest of every available item
+     */
+    public String getAvailableDigest() { return availableDigest; }
+
+    /**
+     * Digest lines for the given items, in the given order
+     */
+    public String digest(Collection<MenuItemResponse> items) {
+        StringBuilder sb = new StringBuilder();
+        for (MenuItemResponse item : items) {
+            String line = digestLines.get(item.getId());
+            sb.append(line != null ? line : digestLine(item)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Rebuilds the catalog with copies of the given items changed by patch; entries are never modified
+     * after they are published, since readers hold on to them
+     */
+    private MenuCatalog withPatched(Collection<MenuItemResponse> targets, Consumer<MenuItemResponse> patch) {
+        Map<Long, MenuItemResponse> patched = new HashMap<>();
+        for (MenuItemResponse target : targets) {
+            MenuItemResponse copy = copyOf(target);
+            patch.accept(copy);
+            patched.put(copy.getId(), copy);
+        }
+        List<MenuItemResponse> items = new ArrayList<>(allItems.size());
+        for (MenuItemResponse item : allItems) {
+            items.add(patched.getOrDefault(item.getId(), item));
+        }
+        // Only the patched items' digest lines are formatted again
+        Map<Long, String> reusableLines = new HashMap<>(digestLines);
+        reusableLines.keySet().removeAll(patched.keySet());
+        return new MenuCatalog(version, items, reusableLines);
+    }
+
+    private static MenuItemResponse copyOf(MenuItemResponse item) {
+        return new MenuItemResponse(item.getId(), item.getName(), item.getDescription(), item.getPrice(),
+                item.getCategory(), item.getImageUrl(), item.getAvailable(), item.getVegetarian(),
+                item.getPreparationTime(), item.getChefName(), item.getChefId(), item.getChefVerified(),
+                item.getChefAverageRating(), item.getChefTotalRatings(), item.getMenuItemAverageRating(),
+                item.getMenuItemTotalRatings());
+    }
+
+    private static long count(Long ratingCount) {
+        return ratingCount != null ? ratingCount : 0L;
+    }
+
+    private static String digestLine(MenuItemResponse item) {
+        double rating = item.getMenuItemAverageRating() != null ? item.getMenuItemAverageRating() : 0.0;
+        return item.getId() + "|" + clean(item.getName()) + "|" + price(item.getPrice()) + "|"
+                + clean(item.getCategory()) + "|" + (Boolean.TRUE.equals(item.getVegetarian()) ? "V" : "N") + "|"
+                + String.format(Locale.ROOT, "%.1f", rating);
+    }
+
+    private static String price(Double price) {
+        return price == null ? "" : BigDecimal.valueOf(price).stripTrailingZeros().toPlainString();
+    }
+
+    // Keep each item on one line and the column separator unambiguous
+    private static String clean(String value) {
+        return value == null ? "" : value.replace('|', '/').replace('\n', ' ').replace('\r', ' ').trim();
+    }
+
+    private static <K> Map<K, List<MenuItemResponse>> index(List<MenuItemResponse> items,
+                                                           Function<MenuItemResponse, K> key) {
+        Map<K, List<MenuItemResponse>> grouped = items.stream()
+                .filter(item -> key.apply(item) != null)
+                .collect(Collectors.groupingBy(key, LinkedHashMap::new, Collectors.toList()));
+        Map<K, List<MenuItemResponse>> frozen = new LinkedHashMap<>();
+        grouped.forEach((k, v) -> frozen.put(k, Collections.unmodifiableList(v)));
+        return Collections.unmodifiableMap(frozen);
+    }
+}
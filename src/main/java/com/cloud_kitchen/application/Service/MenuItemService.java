@@ -4,18 +4,29 @@ import com.cloud_kitchen.application.DTO.MenuItemRequest;
 import com.cloud_kitchen.application.DTO.MenuItemResponse;
 import com.cloud_kitchen.application.Entity.Chef;
 import com.cloud_kitchen.application.Entity.MenuItem;
+import com.cloud_kitchen.application.Entity.RatingSummary;
 import com.cloud_kitchen.application.Entity.User;
+import com.cloud_kitchen.application.Event.MenuCatalogChangedEvent;
+import com.cloud_kitchen.application.Event.RatingSummaryChangedEvent;
 import com.cloud_kitchen.application.Repository.ChefRepository;
 import com.cloud_kitchen.application.Repository.MenuItemRepository;
 import com.cloud_kitchen.application.Repository.OrderItemRepository;
 import com.cloud_kitchen.application.Repository.RatingRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MenuItemService {
@@ -25,6 +36,12 @@ public class MenuItemService {
     private final AuthService authService;
     private final RatingRepository ratingRepository;
     private final OrderItemRepository orderItemRepository;
+    private final RatingSummaryService ratingSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Read endpoints are served from this snapshot; writes bump the version after commit
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final AtomicReference<MenuCatalog> catalog = new AtomicReference<>();
 
     @Transactional
     public MenuItemResponse createMenuItem(MenuItemRequest request) {
@@ -45,6 +62,7 @@ public class MenuItemService {
         menuItem.setChef(chef);
 
         MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+        eventPublisher.publishEvent(new MenuCatalogChangedEvent(savedMenuItem.getId(), "created"));
         return convertToResponse(savedMenuItem);
     }
 
@@ -67,6 +85,7 @@ public class MenuItemService {
         menuItem.setPreparationTime(request.getPreparationTime());
 
         MenuItem updatedMenuItem = menuItemRepository.save(menuItem);
+        eventPublisher.publishEvent(new MenuCatalogChangedEvent(updatedMenuItem.getId(), "updated"));
         return convertToResponse(updatedMenuItem);
     }
 
@@ -83,6 +102,7 @@ public class MenuItemService {
         try {
             // Delete all ratings that reference this menu item
             ratingRepository.deleteByMenuItem(menuItem);
+            ratingSummaryService.removeSummary(RatingSummary.TargetType.MENU_ITEM, menuItem.getId());
 
             // Delete all order items that reference this menu item
             List<com.cloud_kitchen.application.Entity.OrderItem> orderItems = orderItemRepository.findByMenuItem(menuItem);
@@ -91,42 +111,91 @@ public class MenuItemService {
             }
 
             menuItemRepository.delete(menuItem);
+            eventPublisher.publishEvent(new MenuCatalogChangedEvent(id, "deleted"));
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete menu item: " + e.getMessage(), e);
         }
     }
 
     public List<MenuItemResponse> getAllMenuItems() {
-        return menuItemRepository.findAll().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return getCatalog().getAllItems();
     }
 
     public List<MenuItemResponse> getAvailableMenuItems() {
-        return menuItemRepository.findByAvailable(true).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return getCatalog().getAvailableItems();
     }
 
     public MenuItemResponse getMenuItemById(Long id) {
+        MenuItemResponse cached = getCatalog().getItem(id);
+        if (cached != null) {
+            return cached;
+        }
         MenuItem menuItem = menuItemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Menu item not found"));
         return convertToResponse(menuItem);
     }
 
     public List<MenuItemResponse> getMenuItemsByCategory(String category) {
-        return menuItemRepository.findByCategory(category).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return getCatalog().getItemsByCategory(category);
     }
 
     @Transactional(readOnly = true)
     public List<MenuItemResponse> getMenuItemsByChef(Long chefId) {
+        MenuCatalog current = getCatalog();
+        if (current.hasChef(chefId)) {
+            return current.getItemsByChef(chefId);
+        }
+        // Chef without menu items (or unknown chef) - keep the not-found behaviour
         Chef chef = chefRepository.findById(chefId)
                 .orElseThrow(() -> new RuntimeException("Chef not found"));
-        return menuItemRepository.findByChef(chef).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(menuItemRepository.findByChef(chef));
+    }
+
+    /**
+     * Current menu snapshot, rebuilt from the database only when a committed change invalidated it
+     */
+    public MenuCatalog getCatalog() {
+        MenuCatalog current = catalog.get();
+        long version = catalogVersion.get();
+        if (current != null && current.getVersion() == version) {
+            return current;
+        }
+        synchronized (catalog) {
+            current = catalog.get();
+            version = catalogVersion.get();
+            if (current != null && current.getVersion() == version) {
+                return current;
+            }
+            MenuCatalog rebuilt = MenuCatalog.build(version, convertToResponses(menuItemRepository.findAll()));
+            catalog.set(rebuilt);
+            log.debug("Menu catalog rebuilt at version {} with {} items", version, rebuilt.getAllItems().size());
+            return rebuilt;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuCatalogChanged(MenuCatalogChangedEvent event) {
+        long version = catalogVersion.incrementAndGet();
+        log.debug("Menu catalog invalidated ({}), now at version {}", event, version);
+    }
+
+    /**
+     * Patches a new rating total into the current snapshot, keeping its version, so ratings neither
+     * force a rebuild nor invalidate caches keyed on the catalog version. Serialized with rebuilds,
+     * so a rebuild that read the summaries before this rating committed is patched afterwards.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingSummaryChanged(RatingSummaryChangedEvent event) {
+        double average = event.getRatingCount() == 0 ? 0.0 : (double) event.getRatingSum() / event.getRatingCount();
+        synchronized (catalog) {
+            MenuCatalog current = catalog.get();
+            if (current == null) {
+                return;
+            }
+            catalog.set(event.getTargetType() == RatingSummary.TargetType.CHEF
+                    ? current.withChefRating(event.getTargetId(), average, event.getRatingCount())
+                    : current.withMenuItemRating(event.getTargetId(), average, event.getRatingCount()));
+        }
     }
 
     @Transactional
@@ -141,10 +210,42 @@ public class MenuItemService {
 
         menuItem.setAvailable(!menuItem.getAvailable());
         MenuItem updatedMenuItem = menuItemRepository.save(menuItem);
+        eventPublisher.publishEvent(new MenuCatalogChangedEvent(updatedMenuItem.getId(), "availability toggled"));
         return convertToResponse(updatedMenuItem);
     }
 
     public MenuItemResponse convertToResponse(MenuItem menuItem) {
+        return convertToResponses(List.of(menuItem)).get(0);
+    }
+
+    /**
+     * Converts a batch of menu items, reading all chef and menu item rating summaries in one query
+     */
+    public List<MenuItemResponse> convertToResponses(List<MenuItem> menuItems) {
+        if (menuItems.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> chefIds = menuItems.stream()
+                .map(menuItem -> menuItem.getChef().getId())
+                .collect(Collectors.toSet());
+        Set<Long> menuItemIds = menuItems.stream()
+                .map(MenuItem::getId)
+                .collect(Collectors.toSet());
+
+        Map<RatingSummary.TargetType, Map<Long, RatingSummary>> summaries =
+                ratingSummaryService.getSummaries(chefIds, menuItemIds);
+        Map<Long, RatingSummary> chefSummaries = summaries.get(RatingSummary.TargetType.CHEF);
+        Map<Long, RatingSummary> menuItemSummaries = summaries.get(RatingSummary.TargetType.MENU_ITEM);
+
+        return menuItems.stream()
+                .map(menuItem -> convertToResponse(menuItem,
+                        chefSummaries.get(menuItem.getChef().getId()),
+                        menuItemSummaries.get(menuItem.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private MenuItemResponse convertToResponse(MenuItem menuItem, RatingSummary chefSummary, RatingSummary menuItemSummary) {
         MenuItemResponse response = new MenuItemResponse();
         response.setId(menuItem.getId());
         response.setName(menuItem.getName());
@@ -160,16 +261,12 @@ public class MenuItemService {
         response.setChefVerified(menuItem.getChef().getVerified() != null ? menuItem.getChef().getVerified() : false);
         
         // Add chef ratings
-        Double chefAvgRating = ratingRepository.findAverageRatingByChefId(menuItem.getChef().getId());
-        Long chefTotalRatings = ratingRepository.countRatingsByChefId(menuItem.getChef().getId());
-        response.setChefAverageRating(chefAvgRating != null ? chefAvgRating : 0.0);
-        response.setChefTotalRatings(chefTotalRatings != null ? chefTotalRatings : 0L);
+        response.setChefAverageRating(chefSummary != null ? chefSummary.getAverageRating() : 0.0);
+        response.setChefTotalRatings(chefSummary != null ? chefSummary.getRatingCount() : 0L);
         
         // Add menu item ratings
-        Double menuItemAvgRating = ratingRepository.findAverageRatingByMenuItemId(menuItem.getId());
-        Long menuItemTotalRatings = ratingRepository.countRatingsByMenuItemId(menuItem.getId());
-        response.setMenuItemAverageRating(menuItemAvgRating != null ? menuItemAvgRating : 0.0);
-        response.setMenuItemTotalRatings(menuItemTotalRatings != null ? menuItemTotalRatings : 0L);
+        response.setMenuItemAverageRating(menuItemSummary != null ? menuItemSummary.getAverageRating() : 0.0);
+        response.setMenuItemTotalRatings(menuItemSummary != null ? menuItemSummary.getRatingCount() : 0L);
         
         return response;
     }
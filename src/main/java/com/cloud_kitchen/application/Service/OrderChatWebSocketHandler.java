@@ -18,10 +18,7 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.Collection;
 
 @Slf4j
 @Component
@@ -29,21 +26,20 @@ import java.util.stream.Collectors;
 public class OrderChatWebSocketHandler extends TextWebSocketHandler {
 
     private static final ZoneId IST_ZONE = ZoneId.of("Asia/Kolkata");
+    private static final String READ_RECEIPT_TYPE = "READ_RECEIPT";
     
     private final ChatService chatService;
     private final AuthService authService;
     private final UserRepository userRepository;
+    private final ChatSessionRegistry sessionRegistry;
     
     // Configure ObjectMapper to handle Java 8 date/time types
     private final ObjectMapper objectMapper = new ObjectMapper()
             .registerModule(new JavaTimeModule())
             .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-    
-    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
-        String sessionKey = null;
         try {
             // Extract order ID and user ID from query parameters
             String query = session.getUri().getQuery();
@@ -71,12 +67,12 @@ public class OrderChatWebSocketHandler extends TextWebSocketHandler {
                 log.info("Extracted orderId: {}, userId: {}", orderId, userId);
                 
                 if (orderId != null && userId != null) {
-                    // Store session with a key combining order and user
-                    sessionKey = "order:" + orderId + ":user:" + userId;
-                    sessions.put(sessionKey, session);
+                    // Index the session by order; each tab of the same user gets its own entry
+                    session.getAttributes().put("chatUserId", userId);
+                    sessionRegistry.register(Long.parseLong(orderId), session);
                     
-                    log.info("✅ Chat session stored with key: {}", sessionKey);
-                    log.info("✅ Total active sessions: {}", sessions.size());
+                    log.info("✅ Chat session {} registered for order {} and user {}", session.getId(), orderId, userId);
+                    log.info("✅ Total active sessions: {}", sessionRegistry.getSessionCount());
                     log.info("✅ Connection fully established - ready to receive messages");
                     
                     // DON'T send welcome message - it might be causing serialization issues
@@ -96,10 +92,9 @@ public class OrderChatWebSocketHandler extends TextWebSocketHandler {
             log.error("Exception message: {}", e.getMessage());
             log.error("Stack trace: ", e);
             
-            // Remove from sessions if we added it
-            if (sessionKey != null) {
-                sessions.remove(sessionKey);
-                log.info("Removed failed session from map");
+            // Remove from the registry if we added it
+            if (sessionRegistry.unregister(session) != null) {
+                log.info("Removed failed session from registry");
             }
             
             try {
@@ -121,6 +116,11 @@ public class OrderChatWebSocketHandler extends TextWebSocketHandler {
             // Parse the incoming message
             IncomingChatMessage incomingMsg = objectMapper.readValue(payload, IncomingChatMessage.class);
             
+            if (IncomingChatMessage.TYPE_READ.equalsIgnoreCase(incomingMsg.getType())) {
+                handleReadReceipt(incomingMsg);
+                return;
+            }
+            
             // Validate that the user is authorized to send messages for this order
             if (!chatService.isUserAuthorizedForChat(incomingMsg.getOrderId(), incomingMsg.getUserId())) {
                 log.warn("Unauthorized chat access attempt for order {} by user {}", 
@@ -133,7 +133,7 @@ public class OrderChatWebSocketHandler extends TextWebSocketHandler {
                 errorMsg.setSenderName("System");
                 errorMsg.setSentAt(LocalDateTime.now(IST_ZONE));
                 
-                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorMsg)));
+                sessionRegistry.send(session, new TextMessage(objectMapper.writeValueAsString(errorMsg)));
                 return;
             }
             
@@ -148,7 +148,7 @@ public class OrderChatWebSocketHandler extends TextWebSocketHandler {
                 errorMsg.setSenderName("System");
                 errorMsg.setSentAt(LocalDateTime.now(IST_ZONE));
                 
-                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorMsg)));
+                sessionRegistry.send(session, new TextMessage(objectMapper.writeValueAsString(errorMsg)));
                 return;
             }
             
@@ -175,37 +175,49 @@ public class OrderChatWebSocketHandler extends TextWebSocketHandler {
             errorMsg.setSenderName("System");
             errorMsg.setSentAt(LocalDateTime.now(IST_ZONE));
             
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorMsg)));
+            sessionRegistry.send(session, new TextMessage(objectMapper.writeValueAsString(errorMsg)));
         }
     }
 
+    /**
+     * Applies a read receipt and tells the other participants how far the reader has read.
+     * The receipt frame reuses the chat message shape: messageType READ_RECEIPT, id is the last seen message.
+     */
+    private void handleReadReceipt(IncomingChatMessage receipt) throws IOException {
+        Long chatSessionId = chatService.markMessagesRead(
+                receipt.getOrderId(), receipt.getUserId(), receipt.getLastSeenMessageId());
+        
+        ChatMessageDto receiptMsg = new ChatMessageDto();
+        receiptMsg.setId(receipt.getLastSeenMessageId());
+        receiptMsg.setChatSessionId(chatSessionId);
+        receiptMsg.setSenderUserId(receipt.getUserId());
+        receiptMsg.setMessageType(READ_RECEIPT_TYPE);
+        receiptMsg.setSentAt(LocalDateTime.now(IST_ZONE));
+        receiptMsg.setReadStatus(true);
+        
+        broadcastMessageToOrder(receipt.getOrderId(), receiptMsg);
+    }
+
     private void broadcastMessageToOrder(Long orderId, ChatMessageDto message) throws IOException {
         log.info("=== Broadcasting Message ===");
         log.info("Order ID: {}", orderId);
         log.info("Message: {}", message);
-        log.info("Total active sessions: {}", sessions.size());
+        log.info("Total active sessions: {}", sessionRegistry.getSessionCount());
         
-        // Find all sessions for this order
-        List<Map.Entry<String, WebSocketSession>> orderSessions = sessions.entrySet().stream()
-                .filter(entry -> entry.getKey().startsWith("order:" + orderId + ":user:"))
-                .collect(Collectors.toList());
+        // Only the sessions registered for this order
+        Collection<SessionSendLane> orderLanes = sessionRegistry.getLanes(orderId);
         
-        log.info("Found {} sessions for order {}", orderSessions.size(), orderId);
+        log.info("Found {} sessions for order {}", orderLanes.size(), orderId);
         
-        orderSessions.forEach(entry -> {
-            log.info("Broadcasting to session: {}", entry.getKey());
-            try {
-                if (entry.getValue().isOpen()) {
-                    String messageJson = objectMapper.writeValueAsString(message);
-                    log.info("Sending message JSON: {}", messageJson);
-                    entry.getValue().sendMessage(new TextMessage(messageJson));
-                    log.info("✅ Message sent successfully to session: {}", entry.getKey());
-                } else {
-                    log.warn("❌ Session is closed: {}", entry.getKey());
-                }
-            } catch (IOException e) {
-                log.error("❌ Error broadcasting message to session {}: ", entry.getKey(), e);
-            }
+        // Serialize once and share the frame; each recipient's lane writes it on the delivery pool
+        // after that session's earlier frames, so a slow client only delays itself
+        String messageJson = objectMapper.writeValueAsString(message);
+        log.info("Sending message JSON: {}", messageJson);
+        TextMessage frame = new TextMessage(messageJson);
+        
+        orderLanes.forEach(lane -> {
+            log.info("Broadcasting to session: {}", lane.getSession().getId());
+            lane.send(frame);
         });
         
         log.info("=== Broadcast Complete ===");
@@ -219,9 +231,9 @@ public class OrderChatWebSocketHandler extends TextWebSocketHandler {
         log.info("Close reason: {}", status.getReason());
         log.info("Was clean: {}", status.equals(CloseStatus.NORMAL));
         
-        // Remove session from our map
-        sessions.values().remove(session);
-        log.info("Session removed. Remaining active sessions: {}", sessions.size());
+        // Remove session from the registry
+        sessionRegistry.unregister(session);
+        log.info("Session removed. Remaining active sessions: {}", sessionRegistry.getSessionCount());
     }
 
     @Override
@@ -240,10 +252,15 @@ public class OrderChatWebSocketHandler extends TextWebSocketHandler {
     }
 
     // Inner class for incoming messages
+    // type is absent for chat messages and READ for read receipts, which carry lastSeenMessageId
     public static class IncomingChatMessage {
+        public static final String TYPE_READ = "READ";
+        
         private Long orderId;
         private Long userId;
         private String message;
+        private String type;
+        private Long lastSeenMessageId;
         
         // Getters and setters
         public Long getOrderId() { return orderId; }
@@ -254,5 +271,11 @@ public class OrderChatWebSocketHandler extends TextWebSocketHandler {
         
         public String getMessage() { return message; }
         public void setMessage(String message) { this.message = message; }
+        
+        public String getType() { return type; }
+        public void setType(String type) { this.type = type; }
+        
+        public Long getLastSeenMessageId() { return lastSeenMessageId; }
+        public void setLastSeenMessageId(Long lastSeenMessageId) { this.lastSeenMessageId = lastSeenMessageId; }
     }
 }
\ No newline at end of file
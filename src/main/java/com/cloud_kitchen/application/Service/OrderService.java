@@ -2,9 +2,12 @@ package com.cloud_kitchen.application.Service;
 
 import com.cloud_kitchen.application.DTO.OrderItemRequest;
 import com.cloud_kitchen.application.DTO.OrderItemResponse;
+import com.cloud_kitchen.application.DTO.OrderPageResponse;
 import com.cloud_kitchen.application.DTO.OrderRequest;
 import com.cloud_kitchen.application.DTO.OrderResponse;
 import com.cloud_kitchen.application.Entity.*;
+import com.cloud_kitchen.application.Event.OrderCreatedEvent;
+import com.cloud_kitchen.application.Event.OrderStatusChangedEvent;
 import com.cloud_kitchen.application.Repository.MenuItemRepository;
 import com.cloud_kitchen.application.Repository.OrderItemRepository;
 import com.cloud_kitchen.application.Repository.OrderRepository;
@@ -12,16 +15,26 @@ import com.cloud_kitchen.application.Repository.StudentRepository;
 import com.cloud_kitchen.application.Service.AuthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 //package com.cloud_kitchen.application.Service;
@@ -168,14 +181,23 @@ import java.util.stream.Collectors;
 public class OrderService {
 
     private static final ZoneId IST_ZONE = ZoneId.of("Asia/Kolkata");
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Open bounds used when a filter or cursor is absent, so the page queries never bind nulls
+    private static final LocalDateTime MIN_CREATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_CREATED_AT = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final Set<OrderStatus> CHAT_SYNC_STATUSES =
+            EnumSet.of(OrderStatus.CONFIRMED, OrderStatus.DELIVERED, OrderStatus.CANCELLED);
 
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final MenuItemRepository menuItemRepository;
     private final StudentRepository studentRepository;
     private final AuthService authService;
-    private final ChatService chatService;
+    private final OutboxService outboxService;
     private final SubscriptionService subscriptionService;
+    private final InvoiceNumberAllocator invoiceNumberAllocator;
+    private final ApplicationEventPublisher eventPublisher;
 
 //    @Transactional
 //    public OrderResponse createOrder(OrderRequest request) {
@@ -234,13 +256,15 @@ public class OrderService {
         Student student = studentRepository.findById(currentUser.getId())
                 .orElseThrow(() -> new RuntimeException("Student not found"));
 
+        // Resolve every menu item in the cart with a single query and reuse it below
+        Map<Long, MenuItem> menuItemsById = loadCartMenuItems(request.getItems());
+
         // Group items by chef
         Map<Long, List<OrderItemRequest>> itemsByChef = request.getItems().stream()
-                .collect(Collectors.groupingBy(item -> {
-                    MenuItem menuItem = menuItemRepository.findById(item.getMenuItemId())
-                            .orElseThrow();
-                    return menuItem.getChef().getId();
-                }));
+                .collect(Collectors.groupingBy(item -> menuItemsById.get(item.getMenuItemId()).getChef().getId()));
+
+        // Subscription benefits are the same for every sub-order, resolve them once (cached per student)
+        PricingEntitlement entitlement = subscriptionService.getPricingEntitlement(student.getId());
 
         List<OrderResponse> createdOrders = new ArrayList<>();
         String baseOrderNumber = generateOrderNumber();
@@ -287,8 +311,7 @@ public class OrderService {
             double totalAmount = 0.0;
 
             for (OrderItemRequest itemRequest : chefItems) {
-                MenuItem menuItem = menuItemRepository.findById(itemRequest.getMenuItemId())
-                        .orElseThrow();
+                MenuItem menuItem = menuItemsById.get(itemRequest.getMenuItemId());
 
                 OrderItem orderItem = new OrderItem();
                 orderItem.setOrder(order);
@@ -322,18 +345,16 @@ public class OrderService {
             // Generate invoice number
             order.setInvoiceNumber(generateInvoiceNumber());
             
-            // Check if student has active subscription
-            Subscription activeSubscription = subscriptionService.getActiveSubscriptionForStudent(student.getId());
             double discountAmount = 0.0;
             double platformFee = 8.0;
             
-            if (activeSubscription != null) {
+            if (entitlement != PricingEntitlement.NONE) {
                 // Apply subscription discount (5% for Gold plan)
-                discountAmount = totalAmount * (activeSubscription.getPlan().getDiscountPercentage() / 100.0);
+                discountAmount = totalAmount * (entitlement.getDiscountPercentage() / 100.0);
                 totalAmount = totalAmount - discountAmount;
                 
                 // Waive platform fee for Gold subscribers
-                if (activeSubscription.getPlan().getPlatformFeeWaived()) {
+                if (entitlement.isPlatformFeeWaived()) {
                     platformFee = 0.0;
                 }
             }
@@ -344,7 +365,9 @@ public class OrderService {
             order.setTotalAmount(totalAmount + order.getTaxAmount() + order.getPlatformFee());
 
             Order savedOrder = orderRepository.save(order);
-            createdOrders.add(convertToOrderResponse(savedOrder));
+            OrderResponse created = convertToOrderResponse(savedOrder);
+            createdOrders.add(created);
+            eventPublisher.publishEvent(new OrderCreatedEvent(created));
         }
 
         return createdOrders;
@@ -395,7 +418,7 @@ public class OrderService {
 
     @Transactional
     public OrderResponse updateOrderStatus(Long orderId, OrderStatus newStatus) {
-        // Load the complete order with items to avoid lazy loading issues when creating chat
+        // Load the complete order with items for the response and the status event's chef ids
         Optional<Order> orderOptional = orderRepository.findByIdWithItems(orderId);
         if (!orderOptional.isPresent()) {
             System.out.println("DEBUG: Order not found with ID: " + orderId);
@@ -408,35 +431,10 @@ public class OrderService {
         order.setStatus(newStatus);
         Order updatedOrder = orderRepository.save(order);
         
-        // Handle chat session activation/deactivation based on order status
-        handleChatActivation(updatedOrder, oldStatus, newStatus);
-        
-        return convertToOrderResponse(updatedOrder);
+        // Chat session changes run from the outbox once this commits
+        return publishStatusChange(updatedOrder, oldStatus);
     }
     
-    private void handleChatActivation(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
-        log.info("handleChatActivation - Order ID: {}, Old status: {}, New status: {}", order.getId(), oldStatus, newStatus);
-        
-        // Enable chat ONLY when order reaches CONFIRMED status
-        boolean shouldEnableChat = (newStatus == OrderStatus.CONFIRMED && oldStatus != OrderStatus.CONFIRMED);
-        log.info("Should enable chat: {}, New status is CONFIRMED: {}, Old status was not CONFIRMED: {}", 
-                shouldEnableChat, (newStatus == OrderStatus.CONFIRMED), (oldStatus != OrderStatus.CONFIRMED));
-        
-        if (shouldEnableChat) {
-            log.info("Enabling chat for order {} - order reached CONFIRMED status", order.getId());
-            chatService.enableChatForOrder(order);
-        }
-        
-        // Disable chat when order is delivered or cancelled
-        boolean shouldDisableChat = ((newStatus == OrderStatus.DELIVERED || newStatus == OrderStatus.CANCELLED) && oldStatus != newStatus);
-        log.info("Should disable chat: {}, New status: {}", shouldDisableChat, newStatus);
-        
-        if (shouldDisableChat) {
-            log.info("Disabling chat for order {} - order reached {} status", order.getId(), newStatus);
-            chatService.disableChatForOrder(order.getId());
-        }
-    }
-
     @Transactional
     public void cancelOrder(Long orderId) {
         Order order = orderRepository.findById(orderId)
@@ -454,8 +452,10 @@ public class OrderService {
 
         // Students can cancel anytime while order is PENDING
         // Once chef confirms, cancellation is not allowed
+        OrderStatus oldStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         orderRepository.save(order);
+        publishStatusChange(order, oldStatus);
     }
 
     @Transactional
@@ -478,14 +478,65 @@ public class OrderService {
             throw new RuntimeException("Cannot cancel order in " + order.getStatus() + " status. Orders can only be cancelled before preparation starts.");
         }
 
+        OrderStatus oldStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         orderRepository.save(order);
+        publishStatusChange(order, oldStatus);
+    }
+
+    /**
+     * Enqueues the order's side effects and publishes the status change when the status moved.
+     * Returns the order's response, which the event also carries as its snapshot.
+     */
+    private OrderResponse publishStatusChange(Order order, OrderStatus oldStatus) {
+        if (order.getStatus() != oldStatus) {
+            // Write now so the snapshot carries the new updatedAt, which orders snapshots on the kitchen board
+            orderRepository.flush();
+        }
+        OrderResponse snapshot = convertToOrderResponse(order);
+        if (order.getStatus() != oldStatus) {
+            // Chat opens on CONFIRMED and closes on DELIVERED or CANCELLED; the outbox row commits with the status
+            if (CHAT_SYNC_STATUSES.contains(order.getStatus())) {
+                outboxService.enqueue(OutboxEvent.EventType.ORDER_CHAT_SYNC, order.getId());
+            }
+            Set<Long> chefIds = order.getOrderItems().stream()
+                    .map(item -> item.getMenuItem().getChef().getId())
+                    .collect(Collectors.toSet());
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getId(), order.getOrderNumber(),
+                    oldStatus, order.getStatus(), order.getStudent().getId(), chefIds, snapshot));
+        }
+        return snapshot;
     }
 
     private String generateOrderNumber() {
         return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
 
+    /**
+     * Bulk-loads the menu items referenced by the cart (chef fetched in the same query)
+     * and validates that each one exists and is currently available.
+     */
+    private Map<Long, MenuItem> loadCartMenuItems(List<OrderItemRequest> items) {
+        Set<Long> menuItemIds = items.stream()
+                .map(OrderItemRequest::getMenuItemId)
+                .collect(Collectors.toSet());
+
+        Map<Long, MenuItem> menuItemsById = menuItemRepository.findAllByIdWithChef(menuItemIds).stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+
+        for (Long menuItemId : menuItemIds) {
+            MenuItem menuItem = menuItemsById.get(menuItemId);
+            if (menuItem == null) {
+                throw new RuntimeException("Menu item not found with id: " + menuItemId);
+            }
+            if (!Boolean.TRUE.equals(menuItem.getAvailable())) {
+                throw new RuntimeException("Menu item " + menuItem.getName() + " is not available");
+            }
+        }
+
+        return menuItemsById;
+    }
+
     private OrderResponse convertToOrderResponse(Order order) {
         OrderResponse response = new OrderResponse();
         response.setId(order.getId());
@@ -525,6 +576,106 @@ public class OrderService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Every order still in the kitchen (PENDING through READY) with all its items, oldest first.
+     * Used to seed the kitchen board; not scoped to the current user.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getActiveOrders() {
+        return orderRepository.findActiveWithItems(KitchenBoardService.ACTIVE_STATUSES).stream()
+                .map(this::convertToOrderResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public OrderPageResponse getOrdersPage(OrderStatus status, LocalDate from, LocalDate to,
+                                           String cursor, Integer size) {
+        return loadOrderPage(status, from, to, cursor, size, orderRepository::findPageIds);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderPageResponse getMyOrdersPage(OrderStatus status, LocalDate from, LocalDate to,
+                                             String cursor, Integer size) {
+        Long studentId = authService.getCurrentUser().getId();
+        return loadOrderPage(status, from, to, cursor, size,
+                (statuses, start, end, cursorCreatedAt, cursorId, pageable) -> orderRepository.findStudentPageIds(
+                        studentId, statuses, start, end, cursorCreatedAt, cursorId, pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public OrderPageResponse getOrdersByChefPage(Long chefId, OrderStatus status, LocalDate from, LocalDate to,
+                                                 String cursor, Integer size) {
+        return loadOrderPage(status, from, to, cursor, size,
+                (statuses, start, end, cursorCreatedAt, cursorId, pageable) -> orderRepository.findChefPageIds(
+                        chefId, statuses, start, end, cursorCreatedAt, cursorId, pageable));
+    }
+
+    @FunctionalInterface
+    private interface OrderPageIdQuery {
+        List<Long> find(Collection<OrderStatus> statuses, LocalDateTime from, LocalDateTime to,
+                        LocalDateTime cursorCreatedAt, Long cursorId, Pageable pageable);
+    }
+
+    /**
+     * Runs a keyset page: one query for the ids after the cursor (one extra row tells whether
+     * another page exists), then one join-fetch query for those orders and their items.
+     */
+    private OrderPageResponse loadOrderPage(OrderStatus status, LocalDate from, LocalDate to,
+                                            String cursor, Integer size, OrderPageIdQuery idQuery) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Collection<OrderStatus> statuses = status != null ? EnumSet.of(status) : EnumSet.allOf(OrderStatus.class);
+        LocalDateTime start = from != null ? from.atStartOfDay() : MIN_CREATED_AT;
+        LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : MAX_CREATED_AT;
+
+        LocalDateTime cursorCreatedAt = MAX_CREATED_AT;
+        Long cursorId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            cursorCreatedAt = LocalDateTime.parse(parts[0]);
+            cursorId = Long.parseLong(parts[1]);
+        }
+
+        List<Long> ids = idQuery.find(statuses, start, end, cursorCreatedAt, cursorId,
+                PageRequest.of(0, pageSize + 1));
+        boolean hasMore = ids.size() > pageSize;
+        if (hasMore) {
+            ids = ids.subList(0, pageSize);
+        }
+
+        List<OrderResponse> orders = ids.isEmpty()
+                ? new ArrayList<>()
+                : orderRepository.findPageWithItems(ids).stream()
+                        .map(this::convertToOrderResponse)
+                        .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasMore && !orders.isEmpty()) {
+            OrderResponse last = orders.get(orders.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        return new OrderPageResponse(orders, nextCursor, hasMore, orders.size());
+    }
+
+    private String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid page cursor");
+        }
+    }
+
 
 
     // Convert OrderItem entity to OrderItemResponse DTO
@@ -544,9 +695,6 @@ public class OrderService {
     }
 
     private String generateInvoiceNumber() {
-        String datePart = java.time.LocalDate.now().format(
-                java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd"));
-        long count = orderRepository.count() + 1;
-        return String.format("INV-%s-%05d", datePart, count);
+        return invoiceNumberAllocator.nextInvoiceNumber();
     }
 }
@@ -0,0 +1,75 @@
+package com.cloud_kitchen.application.Service;
+
+import com.cloud_kitchen.application.DTO.OrderStatusUpdate;
+import com.cloud_kitchen.application.Event.OrderStatusChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.TextMessage;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Pushes committed order status changes to the order's student and chefs over the order status channel.
+ *
+ * Clients fetch their order list once, then keep it current from these frames instead of polling
+ * /api/orders/my-orders or /api/orders/chef/my-orders. Each change is serialized once and queued on
+ * the send lane of every open session of each recipient, which keeps each session's frames in order.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderStatusPushService {
+
+    public static final String STATUS_CHANGED_TYPE = "ORDER_STATUS_CHANGED";
+
+    private static final ZoneId IST_ZONE = ZoneId.of("Asia/Kolkata");
+
+    private final OrderStatusSessionRegistry sessionRegistry;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        Set<Long> recipients = new LinkedHashSet<>();
+        if (event.getStudentId() != null) {
+            recipients.add(event.getStudentId());
+        }
+        recipients.addAll(event.getChefIds());
+
+        int sent = pushToUsers(recipients, new OrderStatusUpdate(STATUS_CHANGED_TYPE,
+                event.getOrderId(), event.getOrderNumber(), event.getOldStatus().name(),
+                event.getNewStatus().name(), LocalDateTime.now(IST_ZONE)));
+        log.debug("Pushed {} to {} sessions", event, sent);
+    }
+
+    /**
+     * Serializes the payload once and queues it for every open session of the given users.
+     * Returns the number of sessions it was queued for; a session whose lane is full misses the frame.
+     */
+    public int pushToUsers(Collection<Long> userIds, Object payload) {
+        TextMessage frame;
+        try {
+            frame = new TextMessage(objectMapper.writeValueAsString(payload));
+        } catch (IOException e) {
+            log.error("Could not serialize order channel frame {}: {}", payload.getClass().getSimpleName(), e.getMessage());
+            return 0;
+        }
+
+        int sent = 0;
+        for (Long userId : userIds) {
+            for (SessionSendLane lane : sessionRegistry.getLanes(userId)) {
+                if (lane.send(frame)) {
+                    sent++;
+                }
+            }
+        }
+        return sent;
+    }
+}
@@ -0,0 +1,99 @@
+package com.cloud_kitchen.application.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Open order status WebSocket sessions indexed by user id.
+ *
+ * Mirrors ChatSessionRegistry, keyed by user instead of order: every tab or device of a user gets its
+ * own entry. Sessions are wrapped in a {@link ConcurrentWebSocketSessionDecorator}, so a client that
+ * exceeds the send-time or buffer limit is closed, and written through a {@link SessionSendLane} on
+ * the order push pool, so status frames reach each session in the order they were pushed.
+ */
+@Component
+public class OrderStatusSessionRegistry {
+
+    private final Map<Long, Set<SessionSendLane>> lanesByUser = new ConcurrentHashMap<>();
+    private final Map<String, Registration> registrationsBySessionId = new ConcurrentHashMap<>();
+
+    private final ThreadPoolTaskExecutor orderPushExecutor;
+    private final int sendTimeLimitMs;
+    private final int bufferSizeLimitBytes;
+    private final int maxPendingFrames;
+
+    public OrderStatusSessionRegistry(ThreadPoolTaskExecutor orderPushExecutor,
+                                      @Value("${orders.ws.send-time-limit-ms:10000}") int sendTimeLimitMs,
+                                      @Value("${orders.ws.buffer-size-limit-bytes:65536}") int bufferSizeLimitBytes,
+                                      @Value("${orders.ws.max-pending-frames:1000}") int maxPendingFrames) {
+        this.orderPushExecutor = orderPushExecutor;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.bufferSizeLimitBytes = bufferSizeLimitBytes;
+        this.maxPendingFrames = maxPendingFrames;
+    }
+
+    /**
+     * Registers the session for a user and returns the lane all writes must go through
+     */
+    public SessionSendLane register(Long userId, WebSocketSession session) {
+        WebSocketSession buffered = new ConcurrentWebSocketSessionDecorator(
+                session, sendTimeLimitMs, bufferSizeLimitBytes,
+                ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE);
+        SessionSendLane lane = new SessionSendLane(buffered, orderPushExecutor, maxPendingFrames, this::unregister);
+        registrationsBySessionId.put(session.getId(), new Registration(userId, lane));
+        // Add inside the atomic step, so a concurrent unregister cannot drop the set as empty
+        lanesByUser.compute(userId, (id, userLanes) -> {
+            Set<SessionSendLane> lanes = userLanes != null ? userLanes : ConcurrentHashMap.newKeySet();
+            lanes.add(lane);
+            return lanes;
+        });
+        return lane;
+    }
+
+    /**
+     * Removes the session and returns the user it was registered for, or null if unknown
+     */
+    public Long unregister(WebSocketSession session) {
+        Registration registration = registrationsBySessionId.remove(session.getId());
+        if (registration == null) {
+            return null;
+        }
+        lanesByUser.computeIfPresent(registration.userId, (id, userLanes) -> {
+            userLanes.remove(registration.lane);
+            return userLanes.isEmpty() ? null : userLanes;
+        });
+        return registration.userId;
+    }
+
+    public Collection<SessionSendLane> getLanes(Long userId) {
+        Set<SessionSendLane> userLanes = lanesByUser.get(userId);
+        return userLanes == null ? List.of() : userLanes;
+    }
+
+    public int getSessionCount() {
+        return registrationsBySessionId.size();
+    }
+
+    public int getUserCount() {
+        return lanesByUser.size();
+    }
+
+    private static final class Registration {
+        private final Long userId;
+        private final SessionSendLane lane;
+
+        private Registration(Long userId, SessionSendLane lane) {
+            this.userId = userId;
+            this.lane = lane;
+        }
+    }
+}
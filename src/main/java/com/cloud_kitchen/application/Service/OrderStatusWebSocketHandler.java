@@ -0,0 +1,59 @@
+package com.cloud_kitchen.application.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+/**
+ * Per-user order status channel at /ws/orders, separate from order chat.
+ *
+ * The user comes from the JWT validated by WebSocketAuthInterceptor, never from the query string.
+ * The channel is push-only: clients should connect first and then fetch their order list once,
+ * so no change can fall between the fetch and the subscription.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderStatusWebSocketHandler extends TextWebSocketHandler {
+
+    private final OrderStatusSessionRegistry sessionRegistry;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        Object userId = session.getAttributes().get("userId");
+        if (!(userId instanceof Long)) {
+            log.warn("Order status session {} has no authenticated user", session.getId());
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Not authenticated"));
+            return;
+        }
+        sessionRegistry.register((Long) userId, session);
+        log.info("Order status session {} registered for user {} ({} open)",
+                session.getId(), userId, sessionRegistry.getSessionCount());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        // Push-only channel; client frames (e.g. keep-alives) are ignored
+        log.debug("Ignoring frame on order status session {}", session.getId());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        sessionRegistry.unregister(session);
+        log.info("Order status session {} closed ({}), {} open",
+                session.getId(), status.getCode(), sessionRegistry.getSessionCount());
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+        log.error("Order status transport error on session {}: {}", session.getId(), exception.getMessage());
+        sessionRegistry.unregister(session);
+        if (session.isOpen()) {
+            session.close(CloseStatus.SERVER_ERROR);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.cloud_kitchen.application.Service;
+
+import com.cloud_kitchen.application.Entity.OutboxEvent;
+import com.cloud_kitchen.application.Event.OutboxEventsEnqueuedEvent;
+import com.cloud_kitchen.application.Repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains the outbox: loads due events in batches, runs each handler in its own transaction and
+ * then marks the batch's successes done with one update.
+ *
+ * Handlers are idempotent, so an event that ran but was not marked done (crash, failed update)
+ * is simply run again. A failed event is retried with exponential backoff and parked as FAILED
+ * after the configured number of attempts. Draining starts right after an enqueuing transaction
+ * commits and on a fixed poll, which also picks up retries; only one drain runs at a time.
+ */
+@Slf4j
+@Service
+public class OutboxDispatcher {
+
+    private static final ZoneId IST_ZONE = ZoneId.of("Asia/Kolkata");
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ChatService chatService;
+    private final ThreadPoolTaskExecutor outboxDispatchExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final int retentionDays;
+
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private volatile boolean drainRequested;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            ChatService chatService,
+                            ThreadPoolTaskExecutor outboxDispatchExecutor,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${outbox.batch-size:100}") int batchSize,
+                            @Value("${outbox.retry.max-attempts:10}") int maxAttempts,
+                            @Value("${outbox.retry.base-delay-ms:5000}") long baseDelayMs,
+                            @Value("${outbox.retry.max-delay-ms:600000}") long maxDelayMs,
+                            @Value("${outbox.retention-days:7}") int retentionDays) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("outbox.batch-size must be positive: " + batchSize);
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.chatService = chatService;
+        this.outboxDispatchExecutor = outboxDispatchExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.retentionDays = retentionDays;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventsEnqueued(OutboxEventsEnqueuedEvent event) {
+        outboxDispatchExecutor.execute(this::drain);
+    }
+
+    @Scheduled(initialDelayString = "${outbox.initial-delay-ms:15000}",
+            fixedDelayString = "${outbox.poll-interval-ms:5000}")
+    public void poll() {
+        // Drains run on the dispatch pool, never on the shared scheduler thread
+        try {
+            outboxDispatchExecutor.execute(this::drain);
+        } catch (TaskRejectedException e) {
+            log.warn("Outbox dispatch pool full, retrying on the next poll");
+        }
+    }
+
+    /**
+     * Runs every due event. If a drain is already running it is asked to go round once more instead.
+     */
+    public int drain() {
+        int total = 0;
+        do {
+            if (!drainLock.tryLock()) {
+                drainRequested = true;
+                return total;
+            }
+            try {
+                drainRequested = false;
+                total += drainDue();
+            } catch (Exception e) {
+                log.error("Outbox drain failed: {}", e.getMessage());
+                return total;
+            } finally {
+                drainLock.unlock();
+            }
+        } while (drainRequested);
+        return total;
+    }
+
+    @Scheduled(cron = "${outbox.cleanup-cron:0 15 4 * * *}", zone = "Asia/Kolkata")
+    public void purgeProcessed() {
+        try {
+            LocalDateTime before = LocalDateTime.now(IST_ZONE).minusDays(retentionDays);
+            Integer deleted = transactionTemplate.execute(status ->
+                    outboxEventRepository.deleteProcessedBefore(OutboxEvent.Status.DONE, before));
+            log.info("Purged {} processed outbox events older than {} days", deleted, retentionDays);
+        } catch (Exception e) {
+            log.error("Outbox purge failed: {}", e.getMessage());
+        }
+    }
+
+    private int drainDue() {
+        int total = 0;
+        while (true) {
+            LocalDateTime now = LocalDateTime.now(IST_ZONE);
+            List<OutboxEvent> due = outboxEventRepository.findDue(
+                    OutboxEvent.Status.PENDING, now, PageRequest.of(0, batchSize));
+            if (due.isEmpty()) {
+                return total;
+            }
+
+            List<Long> done = new ArrayList<>(due.size());
+            for (OutboxEvent event : due) {
+                if (run(event)) {
+                    done.add(event.getId());
+                }
+            }
+            if (!done.isEmpty()) {
+                transactionTemplate.execute(status -> outboxEventRepository.markDone(done,
+                        OutboxEvent.Status.PENDING, OutboxEvent.Status.DONE, LocalDateTime.now(IST_ZONE)));
+            }
+            total += due.size();
+
+            if (due.size() < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    private boolean run(OutboxEvent event) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> handle(event));
+            return true;
+        } catch (Exception e) {
+            recordFailure(event, e);
+            return false;
+        }
+    }
+
+    private void handle(OutboxEvent event) {
+        switch (event.getEventType()) {
+            case ORDER_CHAT_SYNC -> chatService.syncChatWithOrderStatus(event.getAggregateId());
+            default -> throw new IllegalStateException("No handler for outbox event type " + event.getEventType());
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, Exception e) {
+        int attempts = event.getAttempts() + 1;
+        boolean exhausted = attempts >= maxAttempts;
+        long delayMs = Math.min(maxDelayMs, baseDelayMs << Math.min(attempts - 1, 20));
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+
+        if (exhausted) {
+            log.error("Outbox event {} ({} for {}) failed {} times, giving up: {}",
+                    event.getId(), event.getEventType(), event.getAggregateId(), attempts, error);
+        } else {
+            log.warn("Outbox event {} ({} for {}) failed, attempt {} of {}, retrying in {} ms: {}",
+                    event.getId(), event.getEventType(), event.getAggregateId(), attempts, maxAttempts, delayMs, error);
+        }
+
+        String lastError = error;
+        transactionTemplate.execute(status -> outboxEventRepository.recordFailure(event.getId(),
+                exhausted ? OutboxEvent.Status.FAILED : OutboxEvent.Status.PENDING, attempts,
+                LocalDateTime.now(IST_ZONE).plusNanos(delayMs * 1_000_000L), lastError));
+    }
+}
@@ -0,0 +1,37 @@
+package com.cloud_kitchen.application.Service;
+
+import com.cloud_kitchen.application.Entity.OutboxEvent;
+import com.cloud_kitchen.application.Event.OutboxEventsEnqueuedEvent;
+import com.cloud_kitchen.application.Repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Writes outbox rows as part of the caller's transaction. The rows commit or roll back
+ * together with the change that caused them; OutboxDispatcher carries them out afterwards.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private static final ZoneId IST_ZONE = ZoneId.of("Asia/Kolkata");
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxEvent.EventType eventType, Long aggregateId) {
+        outboxEventRepository.save(new OutboxEvent(eventType, aggregateId, LocalDateTime.now(IST_ZONE)));
+        // Wakes the dispatcher once this transaction commits
+        eventPublisher.publishEvent(new OutboxEventsEnqueuedEvent(1));
+        log.debug("Enqueued outbox event {} for {}", eventType, aggregateId);
+    }
+}
@@ -0,0 +1,38 @@
+package com.cloud_kitchen.application.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable snapshot of the checkout benefits a student's active subscription grants.
+ * {@link #NONE} stands for "no active subscription".
+ */
+public final class PricingEntitlement {
+
+    public static final PricingEntitlement NONE = new PricingEntitlement(null, 0, false, null);
+
+    private final Long subscriptionId;
+    private final int discountPercentage;
+    private final boolean platformFeeWaived;
+    // IST end of the subscription, null when open-ended
+    private final LocalDateTime expiresAt;
+
+    public PricingEntitlement(Long subscriptionId, int discountPercentage, boolean platformFeeWaived,
+                              LocalDateTime expiresAt) {
+        this.subscriptionId = subscriptionId;
+        this.discountPercentage = discountPercentage;
+        this.platformFeeWaived = platformFeeWaived;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isActiveAt(LocalDateTime now) {
+        return subscriptionId != null && (expiresAt == null || now.isBefore(expiresAt));
+    }
+
+    public Long getSubscriptionId() { return subscriptionId; }
+
+    public int getDiscountPercentage() { return discountPercentage; }
+
+    public boolean isPlatformFeeWaived() { return platformFeeWaived; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+}
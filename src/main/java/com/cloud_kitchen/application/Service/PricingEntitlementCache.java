@@ -0,0 +1,127 @@
+package com.cloud_kitchen.application.Service;
+
+import com.cloud_kitchen.application.Event.SubscriptionChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded cache of pricing entitlements keyed by student id.
+ *
+ * An entry lives for the configured TTL or until its subscription ends, whichever comes first,
+ * and is evicted as soon as a subscription change for the student commits on this node. Callers
+ * take the student's {@link #generation} before reading the entitlement; a put whose generation
+ * moved in the meantime is dropped, so a read from before the change is never cached after it.
+ */
+@Slf4j
+@Component
+public class PricingEntitlementCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped on every eviction, striped by student id
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final long ttlNanos;
+    private final int maxSize;
+
+    public PricingEntitlementCache(@Value("${subscription.entitlement-cache.ttl-seconds:600}") long ttlSeconds,
+                                   @Value("${subscription.entitlement-cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxSize = maxSize;
+    }
+
+    public PricingEntitlement get(Long studentId) {
+        Entry entry = entries.get(studentId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(studentId, entry);
+            return null;
+        }
+        return entry.entitlement;
+    }
+
+    /**
+     * Eviction generation of the student, to be taken before the entitlement is read
+     */
+    public long generation(Long studentId) {
+        return generations.get(stripe(studentId));
+    }
+
+    /**
+     * Caches the entitlement read under the given generation, unless the student was evicted since;
+     * now is the IST clock used to bound the entry by the subscription's end
+     */
+    public void put(Long studentId, PricingEntitlement entitlement, LocalDateTime now, long generation) {
+        int stripe = stripe(studentId);
+        if (generations.get(stripe) != generation) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+        long lifetime = ttlNanos;
+        if (entitlement.getExpiresAt() != null) {
+            long untilExpiry = Math.max(0, Duration.between(now, entitlement.getExpiresAt()).toNanos());
+            lifetime = Math.min(lifetime, untilExpiry);
+        }
+        Entry entry = new Entry(entitlement, System.nanoTime() + lifetime);
+        entries.put(studentId, entry);
+        // evict bumps before it removes, so an eviction racing this put is seen here
+        if (generations.get(stripe) != generation) {
+            entries.remove(studentId, entry);
+        }
+    }
+
+    public void evict(Long studentId) {
+        generations.incrementAndGet(stripe(studentId));
+        entries.remove(studentId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        evict(event.getStudentId());
+        log.debug("Evicted cached pricing entitlement: {}", event);
+    }
+
+    private static int stripe(Long studentId) {
+        return Math.floorMod(Long.hashCode(studentId), GENERATION_STRIPES);
+    }
+
+    private void makeRoom() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+
+        // Still full: drop arbitrary entries, they are reloaded on the next checkout
+        Iterator<Long> keys = entries.keySet().iterator();
+        while (entries.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final PricingEntitlement entitlement;
+        private final long expiresAt;
+
+        private Entry(PricingEntitlement entitlement, long expiresAt) {
+            this.entitlement = entitlement;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.cloud_kitchen.application.Service;
+
+import com.cloud_kitchen.application.DTO.LeaderboardEntry;
+import com.cloud_kitchen.application.DTO.LeaderboardResponse;
+import com.cloud_kitchen.application.DTO.MenuItemResponse;
+import com.cloud_kitchen.application.Entity.RatingSummary;
+import com.cloud_kitchen.application.Entity.RatingSummary.TargetType;
+import com.cloud_kitchen.application.Event.RatingSummaryChangedEvent;
+import com.cloud_kitchen.application.Repository.RatingSummaryRepository;
+import com.cloud_kitchen.application.Repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory chef and menu item leaderboards, ranked by Bayesian-average rating or by rating volume.
+ *
+ * Standings are loaded once from the rating_summaries table and then updated from each
+ * RatingSummaryChangedEvent. The event carries the summary's totals rather than a delta, so applying
+ * it is idempotent and a stale event never overwrites newer totals. Ranked lists are re-sorted lazily,
+ * at most once per change, on the next read.
+ */
+@Slf4j
+@Service
+public class RatingLeaderboardService {
+
+    public static final String SORT_RATING = "rating";
+    public static final String SORT_VOLUME = "volume";
+
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final RatingSummaryRepository ratingSummaryRepository;
+    private final UserRepository userRepository;
+    private final MenuItemService menuItemService;
+    private final double priorWeight;
+
+    private final Map<TargetType, Board> boards = new EnumMap<>(TargetType.class);
+    // Events that arrived while a load ran; applied once it finishes, since the load may have missed them
+    private final Queue<RatingSummaryChangedEvent> changedWhileLoading = new ConcurrentLinkedQueue<>();
+    private volatile boolean loading;
+    private volatile boolean loaded;
+
+    public RatingLeaderboardService(RatingSummaryRepository ratingSummaryRepository,
+                                    UserRepository userRepository,
+                                    MenuItemService menuItemService,
+                                    @Value("${ratings.leaderboard.prior-weight:10}") double priorWeight) {
+        this.ratingSummaryRepository = ratingSummaryRepository;
+        this.userRepository = userRepository;
+        this.menuItemService = menuItemService;
+        this.priorWeight = priorWeight;
+        for (TargetType type : TargetType.values()) {
+            boards.put(type, new Board());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public LeaderboardResponse getChefLeaderboard(String sort, Integer page, Integer size) {
+        ensureLoaded();
+        // Chefs have no catalog entry of their own, so every rated chef is listed under its stored name
+        return page(boards.get(TargetType.CHEF).ranked(sort, priorWeight, -1L, null), sort, page, size);
+    }
+
+    @Transactional(readOnly = true)
+    public LeaderboardResponse getMenuItemLeaderboard(String sort, Integer page, Integer size) {
+        ensureLoaded();
+        // Names come from the menu catalog, which also drops deleted items from the board
+        MenuCatalog catalog = menuItemService.getCatalog();
+        return page(boards.get(TargetType.MENU_ITEM).ranked(sort, priorWeight, catalog.getVersion(), catalog), sort, page, size);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingSummaryChanged(RatingSummaryChangedEvent event) {
+        if (!loaded && !loading) {
+            // The first read loads committed totals, including this one
+            return;
+        }
+        if (!loading) {
+            apply(event);
+        }
+        // A load running now may have read the summaries before this commit; apply keeps the highest
+        // count, so applying the event again after the load is harmless
+        if (loading) {
+            changedWhileLoading.add(event);
+            if (!loading) {
+                applyChangedWhileLoading();
+            }
+        }
+    }
+
+    /**
+     * Reloads every standing from the summary table
+     */
+    @Transactional(readOnly = true)
+    public synchronized void reload() {
+        loading = true;
+        try {
+            load();
+        } finally {
+            loading = false;
+            if (loaded) {
+                applyChangedWhileLoading();
+            } else {
+                // A failed first load is retried by the next read, which sees these commits
+                changedWhileLoading.clear();
+            }
+        }
+    }
+
+    private void load() {
+        List<RatingSummary> summaries = ratingSummaryRepository.findAll();
+
+        Set<Long> chefIds = summaries.stream()
+                .filter(s -> s.getTargetType() == TargetType.CHEF)
+                .map(RatingSummary::getTargetId)
+                .collect(Collectors.toSet());
+        Map<Long, String> chefNames = new HashMap<>();
+        if (!chefIds.isEmpty()) {
+            for (Object[] row : userRepository.findNamesByIdIn(chefIds)) {
+                chefNames.put((Long) row[0], (String) row[1]);
+            }
+        }
+
+        boards.values().forEach(Board::clear);
+        for (RatingSummary summary : summaries) {
+            String name = summary.getTargetType() == TargetType.CHEF ? chefNames.get(summary.getTargetId()) : null;
+            boards.get(summary.getTargetType()).apply(summary.getTargetId(), name,
+                    summary.getRatingSum(), summary.getRatingCount());
+        }
+        loaded = true;
+        log.info("Loaded rating leaderboards from {} summaries", summaries.size());
+    }
+
+    private void applyChangedWhileLoading() {
+        RatingSummaryChangedEvent event;
+        while ((event = changedWhileLoading.poll()) != null) {
+            apply(event);
+        }
+    }
+
+    private void apply(RatingSummaryChangedEvent event) {
+        boards.get(event.getTargetType()).apply(event.getTargetId(), event.getTargetName(),
+                event.getRatingSum(), event.getRatingCount());
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    private LeaderboardResponse page(List<LeaderboardEntry> ranked, String sort, Integer page, Integer size) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        int pageNumber = page == null || page < 0 ? 0 : page;
+        int from = (int) Math.min((long) pageNumber * pageSize, ranked.size());
+        int to = Math.min(from + pageSize, ranked.size());
+        return new LeaderboardResponse(normalizeSort(sort), new ArrayList<>(ranked.subList(from, to)),
+                pageNumber, pageSize, ranked.size(), to < ranked.size());
+    }
+
+    private static String normalizeSort(String sort) {
+        return SORT_VOLUME.equalsIgnoreCase(sort) ? SORT_VOLUME : SORT_RATING;
+    }
+
+    /**
+     * Standings of one target type plus the lazily sorted views over them
+     */
+    private static final class Board {
+        private final Map<Long, Standing> standings = new HashMap<>();
+        private long totalSum;
+        private long totalCount;
+
+        // Sorted views, dropped on every change; the menu item view also depends on the catalog version
+        private List<LeaderboardEntry> byRating;
+        private List<LeaderboardEntry> byVolume;
+        private long viewVersion;
+
+        private synchronized void clear() {
+            standings.clear();
+            totalSum = 0;
+            totalCount = 0;
+            byRating = null;
+            byVolume = null;
+        }
+
+        private synchronized void apply(Long targetId, String name, long ratingSum, long ratingCount) {
+            Standing current = standings.get(targetId);
+            if (current != null && current.count >= ratingCount) {
+                return;
+            }
+            String resolvedName = name != null ? name : current != null ? current.name : null;
+            totalSum += ratingSum - (current != null ? current.sum : 0);
+            totalCount += ratingCount - (current != null ? current.count : 0);
+            standings.put(targetId, new Standing(targetId, resolvedName, ratingSum, ratingCount));
+            byRating = null;
+            byVolume = null;
+        }
+
+        private synchronized List<LeaderboardEntry> ranked(String sort, double priorWeight,
+                                                           long version, MenuCatalog catalog) {
+            if (version != viewVersion) {
+                byRating = null;
+                byVolume = null;
+                viewVersion = version;
+            }
+            boolean volume = SORT_VOLUME.equalsIgnoreCase(sort);
+            List<LeaderboardEntry> view = volume ? byVolume : byRating;
+            if (view != null) {
+                return view;
+            }
+
+            double mean = totalCount == 0 ? 0.0 : (double) totalSum / totalCount;
+            List<LeaderboardEntry> entries = new ArrayList<>(standings.size());
+            for (Standing standing : standings.values()) {
+                String name = standing.name;
+                if (catalog != null) {
+                    MenuItemResponse item = catalog.getItem(standing.targetId);
+                    if (item == null) {
+                        continue;
+                    }
+                    name = item.getName();
+                }
+                double average = (double) standing.sum / standing.count;
+                double bayesian = (priorWeight * mean + standing.sum) / (priorWeight + standing.count);
+                entries.add(new LeaderboardEntry(null, standing.targetId, name,
+                        round(average), round(bayesian), standing.count));
+            }
+
+            Comparator<LeaderboardEntry> byBayesian = Comparator.comparing(LeaderboardEntry::getBayesianRating).reversed();
+            Comparator<LeaderboardEntry> byCount = Comparator.comparing(LeaderboardEntry::getTotalRatings).reversed();
+            entries.sort((volume ? byCount.thenComparing(byBayesian) : byBayesian.thenComparing(byCount))
+                    .thenComparing(LeaderboardEntry::getTargetId));
+            for (int i = 0; i < entries.size(); i++) {
+                entries.get(i).setRank(i + 1);
+            }
+
+            view = List.copyOf(entries);
+            if (volume) {
+                byVolume = view;
+            } else {
+                byRating = view;
+            }
+            return view;
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100.0) / 100.0;
+        }
+    }
+
+    private static final class Standing {
+        private final Long targetId;
+        private final String name;
+        private final long sum;
+        private final long count;
+
+        private Standing(Long targetId, String name, long sum, long count) {
+            this.targetId = targetId;
+            this.name = name;
+            this.sum = sum;
+            this.count = count;
+        }
+    }
+}
@@ -2,23 +2,33 @@ package com.cloud_kitchen.application.Service;
 
 import com.cloud_kitchen.application.DTO.ChefRatingStats;
 import com.cloud_kitchen.application.DTO.MenuItemRatingStats;
+import com.cloud_kitchen.application.DTO.RatingPageResponse;
 import com.cloud_kitchen.application.DTO.RatingRequest;
 import com.cloud_kitchen.application.DTO.RatingResponse;
+import com.cloud_kitchen.application.DTO.RatingSummaryResponse;
 import com.cloud_kitchen.application.Entity.Chef;
 import com.cloud_kitchen.application.Entity.MenuItem;
 import com.cloud_kitchen.application.Entity.Order;
 import com.cloud_kitchen.application.Entity.Rating;
+import com.cloud_kitchen.application.Entity.RatingSummary;
 import com.cloud_kitchen.application.Entity.Student;
+import com.cloud_kitchen.application.Event.RatingSummaryChangedEvent;
 import com.cloud_kitchen.application.Repository.ChefRepository;
 import com.cloud_kitchen.application.Repository.MenuItemRepository;
 import com.cloud_kitchen.application.Repository.OrderRepository;
 import com.cloud_kitchen.application.Repository.RatingRepository;
 import com.cloud_kitchen.application.Repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +40,11 @@ public class RatingService {
     private final ChefRepository chefRepository;
     private final MenuItemRepository menuItemRepository;
     private final OrderRepository orderRepository;
+    private final RatingSummaryService ratingSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int DEFAULT_FEED_SIZE = 20;
+    private static final int MAX_FEED_SIZE = 100;
 
     @Transactional
     public RatingResponse rateChef(Long studentId, RatingRequest request) {
@@ -65,6 +80,10 @@ public class RatingService {
         rating.setOrder(order);
 
         Rating savedRating = ratingRepository.save(rating);
+        RatingSummary summary = ratingSummaryService.recordRating(RatingSummary.TargetType.CHEF, chef.getId(), savedRating.getRating());
+        // The menu catalog patches the chef's rating in place from this event instead of rebuilding
+        eventPublisher.publishEvent(new RatingSummaryChangedEvent(RatingSummary.TargetType.CHEF, chef.getId(),
+                chef.getName(), summary.getRatingSum(), summary.getRatingCount()));
 
         return mapToRatingResponse(savedRating);
     }
@@ -75,8 +94,9 @@ public class RatingService {
                 .orElseThrow(() -> new RuntimeException("Chef not found"));
 
         List<Rating> ratings = ratingRepository.findByChefIdOrderByCreatedAtDesc(chefId);
-        Double averageRating = ratingRepository.findAverageRatingByChefId(chefId);
-        Long totalRatings = ratingRepository.countRatingsByChefId(chefId);
+        // Denormalized on the chef row by RatingSummaryService
+        Double averageRating = chef.getRating();
+        Long totalRatings = chef.getRatingCount() != null ? chef.getRatingCount() : 0L;
 
         List<RatingResponse> ratingResponses = ratings.stream()
                 .map(this::mapToRatingResponse)
@@ -134,6 +154,9 @@ public class RatingService {
         rating.setOrder(order);
 
         Rating savedRating = ratingRepository.save(rating);
+        RatingSummary summary = ratingSummaryService.recordRating(RatingSummary.TargetType.MENU_ITEM, menuItem.getId(), savedRating.getRating());
+        eventPublisher.publishEvent(new RatingSummaryChangedEvent(RatingSummary.TargetType.MENU_ITEM, menuItem.getId(),
+                menuItem.getName(), summary.getRatingSum(), summary.getRatingCount()));
 
         return mapToRatingResponse(savedRating);
     }
@@ -144,8 +167,9 @@ public class RatingService {
                 .orElseThrow(() -> new RuntimeException("Menu item not found"));
 
         List<Rating> ratings = ratingRepository.findByMenuItemIdOrderByCreatedAtDesc(menuItemId);
-        Double averageRating = ratingRepository.findAverageRatingByMenuItemId(menuItemId);
-        Long totalRatings = ratingRepository.countRatingsByMenuItemId(menuItemId);
+        // Denormalized on the menu item row by RatingSummaryService
+        Double averageRating = menuItem.getRating();
+        Long totalRatings = menuItem.getRatingCount() != null ? menuItem.getRatingCount() : 0L;
 
         List<RatingResponse> ratingResponses = ratings.stream()
                 .map(this::mapToRatingResponse)
@@ -169,6 +193,44 @@ public class RatingService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Latest-first page of a chef's ratings older than the cursor (a rating id)
+     */
+    @Transactional(readOnly = true)
+    public RatingPageResponse getChefRatingFeed(Long chefId, Long cursor, Integer size) {
+        if (!chefRepository.existsById(chefId)) {
+            throw new RuntimeException("Chef not found");
+        }
+        return loadFeed(cursor, size, (beforeId, pageable) -> ratingRepository.findChefFeed(chefId, beforeId, pageable));
+    }
+
+    /**
+     * Latest-first page of a menu item's ratings older than the cursor (a rating id)
+     */
+    @Transactional(readOnly = true)
+    public RatingPageResponse getMenuItemRatingFeed(Long menuItemId, Long cursor, Integer size) {
+        if (!menuItemRepository.existsById(menuItemId)) {
+            throw new RuntimeException("Menu item not found");
+        }
+        return loadFeed(cursor, size, (beforeId, pageable) -> ratingRepository.findMenuItemFeed(menuItemId, beforeId, pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public RatingSummaryResponse getChefRatingSummary(Long chefId) {
+        if (!chefRepository.existsById(chefId)) {
+            throw new RuntimeException("Chef not found");
+        }
+        return mapToSummaryResponse(ratingSummaryService.getSummary(RatingSummary.TargetType.CHEF, chefId));
+    }
+
+    @Transactional(readOnly = true)
+    public RatingSummaryResponse getMenuItemRatingSummary(Long menuItemId) {
+        if (!menuItemRepository.existsById(menuItemId)) {
+            throw new RuntimeException("Menu item not found");
+        }
+        return mapToSummaryResponse(ratingSummaryService.getSummary(RatingSummary.TargetType.MENU_ITEM, menuItemId));
+    }
+
     @Transactional(readOnly = true)
     public List<Long> getRatedOrderIdsByStudent(Long studentId) {
         return ratingRepository.findRatedOrderIdsByStudentId(studentId);
@@ -179,6 +241,33 @@ public class RatingService {
         return ratingRepository.findRatedMenuItemsByStudentId(studentId);
     }
 
+    /**
+     * Fetches one row past the page size to tell whether an older page exists
+     */
+    private RatingPageResponse loadFeed(Long cursor, Integer size,
+                                        BiFunction<Long, Pageable, List<RatingResponse>> feedQuery) {
+        int pageSize = size == null ? DEFAULT_FEED_SIZE : Math.max(1, Math.min(size, MAX_FEED_SIZE));
+        Long beforeId = cursor != null ? cursor : Long.MAX_VALUE;
+
+        List<RatingResponse> ratings = feedQuery.apply(beforeId, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = ratings.size() > pageSize;
+        if (hasMore) {
+            ratings = ratings.subList(0, pageSize);
+        }
+        Long nextCursor = hasMore ? ratings.get(ratings.size() - 1).getId() : null;
+        return new RatingPageResponse(ratings, nextCursor, hasMore, ratings.size());
+    }
+
+    private RatingSummaryResponse mapToSummaryResponse(RatingSummary summary) {
+        long[] counts = summary.getHistogram();
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        for (int stars = 1; stars <= counts.length; stars++) {
+            histogram.put(stars, counts[stars - 1]);
+        }
+        return new RatingSummaryResponse(summary.getTargetId(), summary.getAverageRating(),
+                summary.getRatingCount(), histogram);
+    }
+
     private RatingResponse mapToRatingResponse(Rating rating) {
         RatingResponse response = new RatingResponse();
         response.setId(rating.getId());
@@ -0,0 +1,198 @@
+package com.cloud_kitchen.application.Service;
+
+import com.cloud_kitchen.application.Entity.RatingSummary;
+import com.cloud_kitchen.application.Entity.RatingSummary.TargetType;
+import com.cloud_kitchen.application.Repository.ChefRepository;
+import com.cloud_kitchen.application.Repository.MenuItemRepository;
+import com.cloud_kitchen.application.Repository.RatingRepository;
+import com.cloud_kitchen.application.Repository.RatingSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class RatingSummaryService {
+
+    private final RatingSummaryRepository ratingSummaryRepository;
+    private final RatingRepository ratingRepository;
+    private final ChefRepository chefRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final TransactionTemplate createTransaction;
+    private final TransactionTemplate rebuildTransaction;
+
+    public RatingSummaryService(RatingSummaryRepository ratingSummaryRepository,
+                                RatingRepository ratingRepository,
+                                ChefRepository chefRepository,
+                                MenuItemRepository menuItemRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.ratingSummaryRepository = ratingSummaryRepository;
+        this.ratingRepository = ratingRepository;
+        this.chefRepository = chefRepository;
+        this.menuItemRepository = menuItemRepository;
+        // A losing insert only rolls back its own transaction, never the caller's rating
+        this.createTransaction = new TransactionTemplate(transactionManager);
+        this.createTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Adds one rating to the summary of a chef or menu item, creating the summary on first use,
+     * and copies the new average and count onto the chef or menu item row.
+     * Must run inside the transaction that saves the Rating so all of it commits together.
+     */
+    @Transactional
+    public RatingSummary recordRating(TargetType targetType, Long targetId, int stars) {
+        RatingSummary summary = ratingSummaryRepository.findForUpdate(targetType, targetId)
+                .orElseGet(() -> createAndLock(targetType, targetId));
+        summary.addRating(stars);
+        RatingSummary saved = ratingSummaryRepository.save(summary);
+
+        // The summary row lock serializes raters of the same target, so these writes never race
+        if (targetType == TargetType.CHEF) {
+            chefRepository.updateRatingStats(targetId, saved.getAverageRating(), saved.getRatingCount());
+        } else {
+            menuItemRepository.updateRatingStats(targetId, saved.getAverageRating(), saved.getRatingCount());
+        }
+        return saved;
+    }
+
+    /**
+     * Creates the empty summary row if no other rater has, then locks it. Two first ratings of a
+     * target both get here; the one whose insert hits the unique constraint locks the winner's row.
+     */
+    private RatingSummary createAndLock(TargetType targetType, Long targetId) {
+        try {
+            createTransaction.executeWithoutResult(status ->
+                    ratingSummaryRepository.saveAndFlush(new RatingSummary(targetType, targetId)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Rating summary for {} {} created concurrently, locking it", targetType, targetId);
+        }
+        return ratingSummaryRepository.findForUpdate(targetType, targetId)
+                .orElseThrow(() -> new RuntimeException("Rating summary not found for " + targetType + " " + targetId));
+    }
+
+    @Transactional(readOnly = true)
+    public RatingSummary getSummary(TargetType targetType, Long targetId) {
+        return ratingSummaryRepository.findByTargetTypeAndTargetId(targetType, targetId)
+                .orElseGet(() -> new RatingSummary(targetType, targetId));
+    }
+
+    /**
+     * Loads chef and menu item summaries in a single query, keyed by target type and then target id.
+     * Targets without any ratings are simply absent from the inner maps.
+     */
+    @Transactional(readOnly = true)
+    public Map<TargetType, Map<Long, RatingSummary>> getSummaries(Collection<Long> chefIds, Collection<Long> menuItemIds) {
+        Map<TargetType, Map<Long, RatingSummary>> result = new EnumMap<>(TargetType.class);
+        result.put(TargetType.CHEF, new HashMap<>());
+        result.put(TargetType.MENU_ITEM, new HashMap<>());
+
+        if (chefIds.isEmpty() && menuItemIds.isEmpty()) {
+            return result;
+        }
+
+        // Guard against empty IN lists, which not every database accepts
+        Collection<Long> chefFilter = chefIds.isEmpty() ? List.of(-1L) : chefIds;
+        Collection<Long> menuItemFilter = menuItemIds.isEmpty() ? List.of(-1L) : menuItemIds;
+
+        for (RatingSummary summary : ratingSummaryRepository.findForChefsAndMenuItems(chefFilter, menuItemFilter)) {
+            result.get(summary.getTargetType()).put(summary.getTargetId(), summary);
+        }
+        return result;
+    }
+
+    @Transactional
+    public void removeSummary(TargetType targetType, Long targetId) {
+        ratingSummaryRepository.deleteByTarget(targetType, targetId);
+    }
+
+    /**
+     * Recomputes every summary from the ratings table with two GROUP BY queries.
+     */
+    @Transactional
+    public int rebuildAll() {
+        ratingSummaryRepository.deleteAllInBatch();
+
+        Map<Long, RatingSummary> chefSummaries = new HashMap<>();
+        for (Object[] row : ratingRepository.countChefRatingsByStars()) {
+            foldRow(chefSummaries, TargetType.CHEF, row);
+        }
+
+        Map<Long, RatingSummary> menuItemSummaries = new HashMap<>();
+        for (Object[] row : ratingRepository.countMenuItemRatingsByStars()) {
+            foldRow(menuItemSummaries, TargetType.MENU_ITEM, row);
+        }
+
+        ratingSummaryRepository.saveAll(chefSummaries.values());
+        ratingSummaryRepository.saveAll(menuItemSummaries.values());
+
+        int rebuilt = chefSummaries.size() + menuItemSummaries.size();
+        log.info("Rebuilt {} rating summaries ({} chefs, {} menu items)",
+                rebuilt, chefSummaries.size(), menuItemSummaries.size());
+
+        rebuildDenormalizedRatings();
+        return rebuilt;
+    }
+
+    /**
+     * Recomputes Chef and MenuItem rating/ratingCount from the ratings table, one UPDATE per table
+     */
+    @Transactional
+    public void rebuildDenormalizedRatings() {
+        int chefs = chefRepository.rebuildRatingStats();
+        int menuItems = menuItemRepository.rebuildRatingStats();
+        log.info("Rebuilt denormalized ratings for {} chefs and {} menu items", chefs, menuItems);
+    }
+
+    /**
+     * Nightly safety net that repairs any drift in the denormalized rating columns.
+     * The transaction is opened inside the try so a failed rebuild rolls back and is logged,
+     * rather than surfacing as an UnexpectedRollbackException from an outer transaction.
+     */
+    @Scheduled(cron = "${ratings.denormalized.rebuild-cron:0 30 3 * * *}", zone = "Asia/Kolkata")
+    public void scheduledRebuild() {
+        try {
+            rebuildTransaction.executeWithoutResult(status -> rebuildDenormalizedRatings());
+        } catch (Exception e) {
+            log.error("Denormalized rating rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Seeds the summary table from existing ratings the first time the application starts with it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void seedSummariesIfEmpty() {
+        if (ratingSummaryRepository.count() == 0 && ratingRepository.count() > 0) {
+            log.info("Rating summary table is empty, seeding from existing ratings");
+            rebuildAll();
+        } else if (chefRepository.countByRatingCountIsNull() > 0 || menuItemRepository.countByRatingCountIsNull() > 0) {
+            // Rows created before the rating count columns existed
+            log.info("Denormalized rating columns are unset, seeding from existing ratings");
+            rebuildDenormalizedRatings();
+        }
+    }
+
+    private void foldRow(Map<Long, RatingSummary> summaries, TargetType targetType, Object[] row) {
+        Long targetId = ((Number) row[0]).longValue();
+        int stars = ((Number) row[1]).intValue();
+        long count = ((Number) row[2]).longValue();
+        summaries.computeIfAbsent(targetId, id -> new RatingSummary(targetType, id))
+                .addRatings(stars, count);
+    }
+}
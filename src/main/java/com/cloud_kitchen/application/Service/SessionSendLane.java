@@ -0,0 +1,105 @@
+package com.cloud_kitchen.application.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Ordered outbound lane for one WebSocket session.
+ *
+ * Frames are queued per session and written by at most one pool task at a time, so a session receives
+ * its frames in the order they were sent while a slow client still only delays itself. Frames beyond
+ * the pending limit are dropped; a session that exceeds the decorator's send limits is closed by the
+ * decorator and reported to onLimitExceeded.
+ */
+@Slf4j
+public final class SessionSendLane {
+
+    private final WebSocketSession session;
+    private final Executor executor;
+    private final int maxPendingFrames;
+    private final Consumer<WebSocketSession> onLimitExceeded;
+
+    private final Queue<TextMessage> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    public SessionSendLane(WebSocketSession session, Executor executor, int maxPendingFrames,
+                           Consumer<WebSocketSession> onLimitExceeded) {
+        this.session = session;
+        this.executor = executor;
+        this.maxPendingFrames = maxPendingFrames;
+        this.onLimitExceeded = onLimitExceeded;
+    }
+
+    public WebSocketSession getSession() { return session; }
+
+    /**
+     * Queues the frame behind any earlier ones; returns false if it was dropped
+     */
+    public boolean send(TextMessage frame) {
+        if (pendingCount.incrementAndGet() > maxPendingFrames) {
+            pendingCount.decrementAndGet();
+            log.warn("❌ Send lane full, dropping frame for session {}", session.getId());
+            return false;
+        }
+        pending.add(frame);
+        schedule();
+        return true;
+    }
+
+    private void schedule() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (TaskRejectedException e) {
+            // Frames stay queued and go out with the next successful schedule
+            draining.set(false);
+            log.warn("❌ Delivery pool full, delaying frames for session {}", session.getId());
+        }
+    }
+
+    private void drain() {
+        try {
+            TextMessage frame;
+            while ((frame = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                write(frame);
+            }
+        } finally {
+            draining.set(false);
+        }
+        // A frame queued after the last poll but before the flag was cleared
+        if (!pending.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void write(TextMessage frame) {
+        try {
+            if (session.isOpen()) {
+                session.sendMessage(frame);
+            } else {
+                log.debug("Session {} is closed, frame discarded", session.getId());
+            }
+        } catch (SessionLimitExceededException e) {
+            // The decorator has already closed the slow consumer
+            log.warn("❌ Session {} exceeded send limits and was closed: {}", session.getId(), e.getMessage());
+            onLimitExceeded.accept(session);
+        } catch (IOException | RuntimeException e) {
+            log.error("❌ Error sending frame to session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.cloud_kitchen.application.Service;
+
+import com.cloud_kitchen.application.Entity.SubscriptionStatus;
+import com.cloud_kitchen.application.Event.SubscriptionChangedEvent;
+import com.cloud_kitchen.application.Repository.StudentRepository;
+import com.cloud_kitchen.application.Repository.SubscriptionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Background job that moves ACTIVE subscriptions past their end date to EXPIRED.
+ *
+ * Due subscriptions are found through the (status, end_date) index and expired in batches, each batch
+ * in its own short transaction: one bulk update of the subscriptions, one of the students' flags, and
+ * a SubscriptionChangedEvent per subscription so caches drop the student's benefits after commit.
+ */
+@Slf4j
+@Service
+public class SubscriptionExpiryService {
+
+    private static final ZoneId IST_ZONE = ZoneId.of("Asia/Kolkata");
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final StudentRepository studentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate batchTransaction;
+    private final int batchSize;
+
+    public SubscriptionExpiryService(SubscriptionRepository subscriptionRepository,
+                                     StudentRepository studentRepository,
+                                     ApplicationEventPublisher eventPublisher,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${subscription.expiry.batch-size:200}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("subscription.expiry.batch-size must be positive: " + batchSize);
+        }
+        this.subscriptionRepository = subscriptionRepository;
+        this.studentRepository = studentRepository;
+        this.eventPublisher = eventPublisher;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${subscription.expiry.initial-delay-ms:30000}",
+            fixedDelayString = "${subscription.expiry.interval-ms:60000}")
+    public void sweep() {
+        try {
+            int expired = expireDue(LocalDateTime.now(IST_ZONE));
+            if (expired > 0) {
+                log.info("Expired {} subscriptions", expired);
+            }
+        } catch (Exception e) {
+            log.error("Subscription expiry sweep failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Expires every ACTIVE subscription whose end date is at or before now, batch by batch
+     */
+    public int expireDue(LocalDateTime now) {
+        int total = 0;
+        while (true) {
+            Integer found = batchTransaction.execute(status -> expireBatch(now));
+            int batch = found != null ? found : 0;
+            total += batch;
+            if (batch < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    private int expireBatch(LocalDateTime now) {
+        List<Object[]> due = subscriptionRepository.findDueForExpiry(
+                SubscriptionStatus.ACTIVE, now, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> subscriptionIds = new ArrayList<>(due.size());
+        for (Object[] row : due) {
+            subscriptionIds.add((Long) row[0]);
+        }
+
+        subscriptionRepository.updateStatusByIds(subscriptionIds,
+                SubscriptionStatus.ACTIVE, SubscriptionStatus.EXPIRED, now);
+        studentRepository.clearSubscription(subscriptionIds, "EXPIRED");
+
+        for (Object[] row : due) {
+            eventPublisher.publishEvent(new SubscriptionChangedEvent((Long) row[1], (Long) row[0], "expired"));
+        }
+        return due.size();
+    }
+}
@@ -3,10 +3,12 @@ package com.cloud_kitchen.application.Service;
 import com.cloud_kitchen.application.DTO.SubscriptionRequest;
 import com.cloud_kitchen.application.DTO.SubscriptionResponse;
 import com.cloud_kitchen.application.Entity.*;
+import com.cloud_kitchen.application.Event.SubscriptionChangedEvent;
 import com.cloud_kitchen.application.Repository.StudentRepository;
 import com.cloud_kitchen.application.Repository.SubscriptionPlanRepository;
 import com.cloud_kitchen.application.Repository.SubscriptionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +33,12 @@ public class SubscriptionService {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private PricingEntitlementCache pricingEntitlementCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Get all active subscription plans
      */
@@ -149,6 +157,16 @@ public class SubscriptionService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get subscriptions in one status, newest first (Admin)
+     */
+    public List<SubscriptionResponse> getSubscriptionsByStatus(SubscriptionStatus status) {
+        List<Subscription> subscriptions = subscriptionRepository.findByStatusOrderByCreatedAtDesc(status);
+        return subscriptions.stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Approve subscription (Admin)
      */
@@ -176,6 +194,7 @@ public class SubscriptionService {
         student.setSubscriptionStatus("ACTIVE");
         student.setSubscriptionId(subscription.getId());
         studentRepository.save(student);
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(student.getId(), subscription.getId(), "approved"));
 
         return convertToResponse(subscription);
     }
@@ -198,6 +217,8 @@ public class SubscriptionService {
         subscription.setApprovedAt(LocalDateTime.now(IST_ZONE));
 
         subscription = subscriptionRepository.save(subscription);
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(
+                subscription.getStudent().getId(), subscription.getId(), "rejected"));
 
         return convertToResponse(subscription);
     }
@@ -228,6 +249,7 @@ public class SubscriptionService {
         student.setSubscriptionStatus("NONE");
         student.setSubscriptionId(null);
         studentRepository.save(student);
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(student.getId(), subscription.getId(), "disabled"));
 
         return convertToResponse(subscription);
     }
@@ -251,6 +273,8 @@ public class SubscriptionService {
 
         // Delete subscription
         subscriptionRepository.delete(subscription);
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(
+                subscription.getStudent().getId(), subscription.getId(), "deleted"));
     }
 
     /**
@@ -268,6 +292,28 @@ public class SubscriptionService {
                 .orElse(null);
     }
 
+    /**
+     * Get the checkout benefits of the student's active subscription, cached per student.
+     * Returns {@link PricingEntitlement#NONE} when there is no active subscription or it has ended.
+     */
+    public PricingEntitlement getPricingEntitlement(Long studentId) {
+        LocalDateTime now = LocalDateTime.now(IST_ZONE);
+        PricingEntitlement entitlement = pricingEntitlementCache.get(studentId);
+        if (entitlement == null) {
+            long generation = pricingEntitlementCache.generation(studentId);
+            entitlement = subscriptionRepository.findEntitlementRows(studentId, SubscriptionStatus.ACTIVE).stream()
+                    .findFirst()
+                    .map(row -> new PricingEntitlement(
+                            (Long) row[0],
+                            row[1] != null ? ((Number) row[1]).intValue() : 0,
+                            Boolean.TRUE.equals(row[2]),
+                            (LocalDateTime) row[3]))
+                    .orElse(PricingEntitlement.NONE);
+            pricingEntitlementCache.put(studentId, entitlement, now, generation);
+        }
+        return entitlement.isActiveAt(now) ? entitlement : PricingEntitlement.NONE;
+    }
+
     /**
      * Convert Subscription to SubscriptionResponse
      */
@@ -3,9 +3,12 @@ package com.cloud_kitchen.application.Service;
 import com.cloud_kitchen.application.DTO.UserResponse;
 import com.cloud_kitchen.application.Entity.Chef;
 import com.cloud_kitchen.application.Entity.User;
+import com.cloud_kitchen.application.Event.MenuCatalogChangedEvent;
+import com.cloud_kitchen.application.Event.UserAccountChangedEvent;
 import com.cloud_kitchen.application.Repository.ChefRepository;
 import com.cloud_kitchen.application.Repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +21,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final ChefRepository chefRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<UserResponse> getAllUsers() {
         return userRepository.findAll().stream()
@@ -43,6 +47,7 @@ public class UserService {
         
         user.setActive(false);
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(id, "deactivated"));
         return convertToResponse(updatedUser);
     }
 
@@ -52,6 +57,7 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setActive(true);
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(id, "activated"));
         return convertToResponse(updatedUser);
     }
 
@@ -67,6 +73,7 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("Chef not found"));
         chef.setVerified(true);
         Chef updatedChef = chefRepository.save(chef);
+        eventPublisher.publishEvent(new MenuCatalogChangedEvent(null, "chef verification changed"));
         return convertToResponse(updatedChef);
     }
 
@@ -76,6 +83,7 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("Chef not found"));
         chef.setVerified(false);
         Chef updatedChef = chefRepository.save(chef);
+        eventPublisher.publishEvent(new MenuCatalogChangedEvent(null, "chef verification changed"));
         return convertToResponse(updatedChef);
     }
 
@@ -85,6 +93,7 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("Chef not found"));
         chef.setVerified(!chef.getVerified());
         Chef updatedChef = chefRepository.save(chef);
+        eventPublisher.publishEvent(new MenuCatalogChangedEvent(null, "chef verification changed"));
         return convertToResponse(updatedChef);
     }
 
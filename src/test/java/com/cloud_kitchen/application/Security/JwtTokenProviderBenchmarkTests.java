@@ -0,0 +1,95 @@
+package com.cloud_kitchen.application.Security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Microbenchmark of the per-request token check: the old path (validateToken, then a second parse
+ * for the claims, each building its own key and parser) against parseValidClaims (one parse with
+ * the cached parser). Each path is warmed up, then timed over several rounds and the best round kept.
+ *
+ * The timing comparison is tagged "benchmark" and only runs on request, since wall-clock results are
+ * not reliable on a shared build machine:
+ * {@code mvn test -Dtest=JwtTokenProviderBenchmarkTests -Dbenchmarks=true}
+ */
+class JwtTokenProviderBenchmarkTests {
+
+    private static final int WARMUP_ITERATIONS = 5_000;
+    private static final int MEASURED_ITERATIONS = 5_000;
+    private static final int ROUNDS = 5;
+
+    private final JwtTokenProvider provider = new JwtTokenProvider();
+    private final String secret = (String) ReflectionTestUtils.getField(provider, "jwtSecret");
+    private final String token = provider.generateTokenWithClaims(42L, "chef@example.com", "Chef", "CHEF");
+
+    // Blackhole for the results so the JIT cannot drop the work
+    private long sink;
+
+    @Test
+    void bothPathsReadTheSameClaims() {
+        Claims single = provider.parseValidClaims(token);
+        Claims doubleParsed = doubleParse(token);
+
+        assertNotNull(single);
+        assertEquals("42", single.getSubject());
+        assertEquals(doubleParsed.getSubject(), single.getSubject());
+        assertEquals(doubleParsed.get("role", String.class), single.get("role", String.class));
+        assertNull(provider.parseValidClaims(token + "x"));
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void singleParseWithCachedParserIsFasterThanDoubleParse() {
+        long doubleParseNanos = bestNanosPerOp(this::doubleParse);
+        long singleParseNanos = bestNanosPerOp(provider::parseValidClaims);
+
+        assertTrue(sink != 0);
+        // The old path parses and verifies twice, so the single parse should be well under its cost
+        assertTrue(singleParseNanos < doubleParseNanos,
+                "parseValidClaims " + singleParseNanos + " ns/op vs double parse " + doubleParseNanos + " ns/op");
+    }
+
+    /**
+     * The request path before parseValidClaims: validateToken followed by getAllClaimsFromToken,
+     * each building the key and parser from the secret
+     */
+    private Claims doubleParse(String jwt) {
+        Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(jwt);
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+
+    private long bestNanosPerOp(Function<String, Claims> path) {
+        run(path, WARMUP_ITERATIONS);
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            run(path, MEASURED_ITERATIONS);
+            best = Math.min(best, (System.nanoTime() - start) / MEASURED_ITERATIONS);
+        }
+        return best;
+    }
+
+    private void run(Function<String, Claims> path, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            sink += path.apply(token).getSubject().length();
+        }
+    }
+}
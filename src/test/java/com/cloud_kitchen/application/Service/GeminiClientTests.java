@@ -0,0 +1,172 @@
+package com.cloud_kitchen.application.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs GeminiClient against local stubs of the generateContent and streamGenerateContent endpoints
+ */
+class GeminiClientTests {
+
+    private static final String OK_BODY =
+            "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"hello from stub\"}]}}]}";
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile long delayMs = 0;
+    private volatile String lastStreamQuery;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/generate", exchange -> {
+            requests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            sleep(delayMs);
+            byte[] body = (status == 200 ? OK_BODY : "{\"error\":\"stub\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/stream", exchange -> {
+            requests.incrementAndGet();
+            lastStreamQuery = exchange.getRequestURI().getQuery();
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (String text : List.of("{\\\"mealName\\\": ", "\\\"Power Bowl\\\"", "}")) {
+                    String event = "data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + text + "\"}]}}]}\r\n\r\n";
+                    out.write(event.getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    sleep(delayMs);
+                }
+            } catch (IOException e) {
+                // Client aborted the stream
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    private GeminiClient client(long readTimeoutMs, int maxConcurrent, int failureThreshold) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/generate";
+        String streamUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/stream";
+        return new GeminiClient(new RestTemplateBuilder(), new ObjectMapper(), url, streamUrl, "test-key",
+                1000, readTimeoutMs, maxConcurrent, 50, failureThreshold, 60_000);
+    }
+
+    @Test
+    void returnsFirstCandidateText() {
+        assertEquals("hello from stub", client(2000, 4, 3).generateText("prompt"));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void readTimeoutFailsTheCall() {
+        delayMs = 1000;
+        GeminiClient client = client(200, 4, 3);
+        assertThrows(RuntimeException.class, () -> client.generateText("prompt"));
+    }
+
+    @Test
+    void breakerOpensAfterConsecutiveFailuresAndSkipsUpstream() {
+        status = 500;
+        GeminiClient client = client(2000, 4, 2);
+        assertThrows(RuntimeException.class, () -> client.generateText("prompt"));
+        assertThrows(RuntimeException.class, () -> client.generateText("prompt"));
+        assertTrue(client.isOpen());
+
+        status = 200;
+        assertThrows(GeminiClient.GeminiUnavailableException.class, () -> client.generateText("prompt"));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void rejectsCallsBeyondConcurrencyLimit() throws Exception {
+        delayMs = 500;
+        GeminiClient client = client(2000, 1, 5);
+        CountDownLatch started = new CountDownLatch(1);
+        Thread slowCall = new Thread(() -> {
+            started.countDown();
+            client.generateText("slow");
+        });
+        slowCall.start();
+        started.await();
+        while (requests.get() == 0) {
+            Thread.sleep(10);
+        }
+
+        assertThrows(GeminiClient.GeminiUnavailableException.class, () -> client.generateText("second"));
+        slowCall.join(TimeUnit.SECONDS.toMillis(5));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void streamsChunksAsTheyArrive() {
+        delayMs = 100;
+        List<String> chunks = new CopyOnWriteArrayList<>();
+        List<Long> arrivals = new CopyOnWriteArrayList<>();
+        long start = System.nanoTime();
+
+        String text = client(2000, 4, 3).streamText("prompt", chunk -> {
+            chunks.add(chunk);
+            arrivals.add(System.nanoTime() - start);
+        });
+
+        assertEquals(List.of("{\"mealName\": ", "\"Power Bowl\"", "}"), chunks);
+        assertEquals("{\"mealName\": \"Power Bowl\"}", text);
+        assertTrue(lastStreamQuery.contains("alt=sse"));
+        // The first chunk is delivered before the stub has finished writing the rest
+        assertTrue(arrivals.get(2) - arrivals.get(0) >= TimeUnit.MILLISECONDS.toNanos(150));
+    }
+
+    @Test
+    void chunkHandlerFailureAbortsStreamWithoutTrippingBreaker() {
+        GeminiClient client = client(2000, 4, 1);
+        IllegalStateException gone = new IllegalStateException("client gone");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> client.streamText("prompt", chunk -> { throw gone; }));
+
+        assertSame(gone, thrown);
+        assertFalse(client.isOpen());
+        assertEquals("hello from stub", client.generateText("prompt"));
+    }
+
+    private static void sleep(long ms) {
+        if (ms <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.cloud_kitchen.application.Service;
+
+import com.cloud_kitchen.application.DTO.OrderStatusUpdate;
+import com.cloud_kitchen.application.Entity.OrderStatus;
+import com.cloud_kitchen.application.Event.OrderStatusChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives many students and chefs through order lifecycles on the order status channel. Checks that
+ * every participant gets every change of its orders exactly once and in order, and, for one simulated
+ * hour of the same clients and changes, counts the requests of list polling against push.
+ */
+class OrderStatusPushLoadTests {
+
+    private static final int STUDENTS = 400;
+    private static final int CHEFS = 40;
+    private static final int ORDERS = 1200;
+    private static final int SIMULATED_SECONDS = 3600;
+    private static final int POLL_INTERVAL_SECONDS = 10;
+    private static final int SECONDS_PER_STEP = 60;
+    private static final List<OrderStatus> LIFECYCLE = List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED,
+            OrderStatus.PREPARING, OrderStatus.READY, OrderStatus.DELIVERED);
+
+    private ThreadPoolTaskExecutor executor;
+    private OrderStatusSessionRegistry registry;
+    private OrderStatusPushService pushService;
+
+    private final Map<Long, AtomicLong> framesByUser = new ConcurrentHashMap<>();
+    // Statuses each session received, in arrival order, per order
+    private final Map<String, Map<Long, List<OrderStatus>>> statusesBySession = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(100000);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+
+        registry = new OrderStatusSessionRegistry(executor, 10000, 65536, 1000);
+        pushService = new OrderStatusPushService(registry, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void everyParticipantReceivesEachChangeOnceAndInOrder() throws Exception {
+        Random random = new Random(42);
+        long firstChefId = STUDENTS + 1L;
+
+        // Every client connects once; students on one tab, chefs on two
+        for (long userId = 1; userId < firstChefId + CHEFS; userId++) {
+            int tabs = userId >= firstChefId ? 2 : 1;
+            for (int tab = 0; tab < tabs; tab++) {
+                registry.register(userId, session(userId, userId + "-" + tab));
+            }
+        }
+
+        // Random orders, each with one or two chefs, walked through the full lifecycle
+        Map<Long, Long> expectedFrames = new HashMap<>();
+        for (long orderId = 1; orderId <= ORDERS; orderId++) {
+            long studentId = 1 + random.nextInt(STUDENTS);
+            Set<Long> chefIds = new HashSet<>();
+            int chefCount = 1 + random.nextInt(2);
+            while (chefIds.size() < chefCount) {
+                chefIds.add(firstChefId + random.nextInt(CHEFS));
+            }
+            for (int step = 1; step < LIFECYCLE.size(); step++) {
+                pushService.onOrderStatusChanged(new OrderStatusChangedEvent(orderId, "ORD-" + orderId,
+                        LIFECYCLE.get(step - 1), LIFECYCLE.get(step), studentId, chefIds, null));
+                expectedFrames.merge(studentId, 1L, Long::sum);
+                // Chefs keep two tabs open, each receives its own frame
+                chefIds.forEach(chefId -> expectedFrames.merge(chefId, 2L, Long::sum));
+            }
+        }
+        executor.getThreadPoolExecutor().shutdown();
+        assertTrue(executor.getThreadPoolExecutor().awaitTermination(30, TimeUnit.SECONDS));
+
+        // Every participant saw every change of its orders, and nobody else got anything
+        expectedFrames.forEach((userId, expected) ->
+                assertEquals(expected, framesByUser.get(userId).get(), "frames for user " + userId));
+        long pushedFrames = framesByUser.values().stream().mapToLong(AtomicLong::get).sum();
+        assertEquals(expectedFrames.values().stream().mapToLong(Long::longValue).sum(), pushedFrames);
+
+        // Each session received the changes of every order in lifecycle order
+        List<OrderStatus> lifecycleAfterPending = LIFECYCLE.subList(1, LIFECYCLE.size());
+        statusesBySession.forEach((sessionId, byOrder) -> byOrder.forEach((orderId, statuses) ->
+                assertEquals(lifecycleAfterPending, statuses, "session " + sessionId + ", order " + orderId)));
+    }
+
+    @Test
+    void pushReplacesPollingForTheSameClientsAndChanges() throws Exception {
+        Random random = new Random(7);
+        long firstChefId = STUDENTS + 1L;
+        long lastUserId = firstChefId + CHEFS - 1;
+
+        // Push: each client fetches its order list once when it connects, then only receives frames
+        long pushRequests = 0;
+        for (long userId = 1; userId <= lastUserId; userId++) {
+            registry.register(userId, session(userId, "push-" + userId));
+            pushRequests++;
+        }
+
+        // Status changes spread over the hour, one lifecycle step a minute per order
+        Map<Integer, List<OrderStatusChangedEvent>> changesAt = new HashMap<>();
+        int lastStart = SIMULATED_SECONDS - LIFECYCLE.size() * SECONDS_PER_STEP;
+        for (long orderId = 1; orderId <= ORDERS; orderId++) {
+            long studentId = 1 + random.nextInt(STUDENTS);
+            Set<Long> chefIds = Set.of(firstChefId + random.nextInt(CHEFS));
+            int start = random.nextInt(lastStart);
+            for (int step = 1; step < LIFECYCLE.size(); step++) {
+                changesAt.computeIfAbsent(start + step * SECONDS_PER_STEP, k -> new ArrayList<>())
+                        .add(new OrderStatusChangedEvent(orderId, "ORD-" + orderId, LIFECYCLE.get(step - 1),
+                                LIFECYCLE.get(step), studentId, chefIds, null));
+            }
+        }
+
+        long pollRequests = 0;
+        for (int second = 0; second < SIMULATED_SECONDS; second++) {
+            // Polling: every client re-fetches its order list on its own fixed interval
+            for (long userId = 1; userId <= lastUserId; userId++) {
+                if ((second + userId) % POLL_INTERVAL_SECONDS == 0) {
+                    pollRequests++;
+                }
+            }
+            for (OrderStatusChangedEvent change : changesAt.getOrDefault(second, List.of())) {
+                pushService.onOrderStatusChanged(change);
+            }
+        }
+        executor.getThreadPoolExecutor().shutdown();
+        assertTrue(executor.getThreadPoolExecutor().awaitTermination(30, TimeUnit.SECONDS));
+
+        long pushedFrames = framesByUser.values().stream().mapToLong(AtomicLong::get).sum();
+        // Each change reaches its student and its chef
+        assertEquals(2L * ORDERS * (LIFECYCLE.size() - 1), pushedFrames);
+
+        double requestDrop = 1.0 - (double) pushRequests / pollRequests;
+        assertTrue(requestDrop > 0.99, "list requests dropped by " + requestDrop + ": "
+                + pollRequests + " polls vs " + pushRequests + " fetches");
+        // Counting every small frame as a message too, push stays a fraction of the polling traffic
+        assertTrue(pushRequests + pushedFrames < pollRequests / 5,
+                (pushRequests + pushedFrames) + " push messages vs " + pollRequests + " polls");
+    }
+
+    @Test
+    void closedSessionsStopReceivingUpdates() throws Exception {
+        WebSocketSession open = session(1L, "open");
+        WebSocketSession closed = session(1L, "closed");
+        registry.register(1L, open);
+        registry.register(1L, closed);
+        registry.unregister(closed);
+
+        pushService.onOrderStatusChanged(new OrderStatusChangedEvent(7L, "ORD-7",
+                OrderStatus.PENDING, OrderStatus.CONFIRMED, 1L, Set.of(), null));
+        executor.getThreadPoolExecutor().shutdown();
+        assertTrue(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1, framesByUser.get(1L).get());
+        assertEquals(1, registry.getSessionCount());
+    }
+
+    private WebSocketSession session(Long userId, String id) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        AtomicLong frames = framesByUser.computeIfAbsent(userId, k -> new AtomicLong());
+        doAnswer(invocation -> {
+            TextMessage frame = invocation.getArgument(0);
+            OrderStatusUpdate update = objectMapper.readValue(frame.getPayload(), OrderStatusUpdate.class);
+            assertEquals(OrderStatusPushService.STATUS_CHANGED_TYPE, update.getType());
+            frames.incrementAndGet();
+            // Lanes write one frame of a session at a time, so the per-session lists need no locking
+            statusesBySession.computeIfAbsent(id, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(update.getOrderId(), k -> new ArrayList<>())
+                    .add(OrderStatus.valueOf(update.getNewStatus()));
+            return null;
+        }).when(session).sendMessage(any());
+        return session;
+    }
+}
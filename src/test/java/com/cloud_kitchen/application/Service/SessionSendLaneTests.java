@@ -0,0 +1,81 @@
+package com.cloud_kitchen.application.Service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that a lane writes one session's frames in send order on a multi-thread pool
+ */
+class SessionSendLaneTests {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void framesArriveInSendOrder() throws Exception {
+        List<String> received = new CopyOnWriteArrayList<>();
+        WebSocketSession session = session(received);
+        SessionSendLane lane = new SessionSendLane(session, pool, 100000, s -> fail("limit exceeded"));
+
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(lane.send(new TextMessage(Integer.toString(i))));
+        }
+        awaitSize(received, 5000);
+
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(Integer.toString(i), received.get(i));
+        }
+    }
+
+    @Test
+    void framesBeyondThePendingLimitAreDropped() throws Exception {
+        List<String> received = new CopyOnWriteArrayList<>();
+        // Nothing runs until the test releases the executor, so every frame stays pending
+        List<Runnable> parked = new CopyOnWriteArrayList<>();
+        SessionSendLane lane = new SessionSendLane(session(received), parked::add, 2, s -> { });
+
+        assertTrue(lane.send(new TextMessage("a")));
+        assertTrue(lane.send(new TextMessage("b")));
+        assertFalse(lane.send(new TextMessage("c")));
+
+        parked.forEach(Runnable::run);
+        assertEquals(List.of("a", "b"), received);
+    }
+
+    private static WebSocketSession session(List<String> received) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            received.add(((TextMessage) invocation.getArgument(0)).getPayload());
+            return null;
+        }).when(session).sendMessage(any());
+        return session;
+    }
+
+    private static void awaitSize(List<String> received, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (received.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(size, received.size());
+    }
+}